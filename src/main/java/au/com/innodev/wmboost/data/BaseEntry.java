@@ -21,7 +21,6 @@ import org.springframework.core.convert.TypeDescriptor;
 import com.wm.data.IDataCursor;
 
 import au.com.innodev.wmboost.data.internal.Preconditions;
-import au.com.innodev.wmboost.data.internal.TextUtil;
 
 /**
  * Base implementation of an document entry.
@@ -35,96 +34,43 @@ class BaseEntry<A, M> {
 
 	private final DocumentImpl document;
 	private final String key;
-	private final NormaliseOption normaliseOption;
+	private final EntryTypeSpec typeSpec;
 	
-	public BaseEntry(DocumentImpl document, String key, NormaliseOption normaliseOption) {
+	public BaseEntry(DocumentImpl document, String key, EntryTypeSpec typeSpec) {
 		this.key = Preconditions.checkHasLength(key, "Invalid key was provided (null or empty string)");
 		this.document = Preconditions.checkNotNull(document);
-		this.normaliseOption = Preconditions.checkNotNull(normaliseOption);
+		this.typeSpec = Preconditions.checkNotNull(typeSpec);
 	}
 
 	protected final IDataCursorResource newCursorResource() {
 		return document.newCursorResource();
 	}
 
+	protected final IDataCursorResource newWritableCursorResource() {
+		return document.newWritableCursorResource();
+	}
+
 	public String getKey() {
 		return key;
 	}
 
 	protected final <T> T getConvertedValue(Object value, TypeDescriptor destTypeSpec) {
-		return getConvertedValue(value, destTypeSpec, TypeDescriptor.forObject(value));
+		return EntryUtil.convert(value, destTypeSpec, key, getConversionService());
 	}
 
 	private ConversionService getConversionService() {
 		return document.getInternalConversionService();
 	}
 
-	protected final <T> T getConvertedValue(Object value, TypeDescriptor destTypeSpec, TypeDescriptor sourceTypeDescriptor) {
-		ConversionService conversionService = getConversionService();
-
-		Object convertedValue;
-
-		// Single value
-		if (destTypeSpec.isCollection() || destTypeSpec.isArray()) {
-			try {
-				convertedValue = conversionService.convert(value, sourceTypeDescriptor, destTypeSpec);
-			} catch (RuntimeException e) {
-				throw new IllegalArgumentException("Unable to convert value to '" + destTypeSpec
-						+ "' while retrieving document field '" + key + "'", e);
-			}
-		} else {
-			try {
-				convertedValue = conversionService.convert(value, sourceTypeDescriptor, destTypeSpec);
-			} catch (RuntimeException e) {
-				StringBuilder message = new StringBuilder();
-				message.append("Unable to convert value to type '");
-				message.append(destTypeSpec);
-				message.append("' while retrieving document field '");
-				message.append(key);
-				message.append("'. Actual value was [");
-				message.append(TextUtil.abbreviateObj(value, 100));
-				message.append("]");
-				if (value != null) {
-					message.append(" of type '");
-					message.append(value.getClass());
-					message.append("'");
-				}
-				throw new IllegalArgumentException(message.toString(), e);
-			}
-		}
-
-		@SuppressWarnings("unchecked")
-		T casted = (T) convertedValue;
-		return casted;
-	}
-
 	protected final A convertAndNormaliseValForGet(Object value, TypeDescriptor accessorType) {
-		A convertedValue = getConvertedValue(value, accessorType);
-		A normalised;
-
-		if (normaliseOption.isDontNormalise()) {
-			normalised = convertedValue;
-		} else {
-			normalised = EntryUtil.normaliseValueForGet(convertedValue, getConversionService());
-		}
-
+		@SuppressWarnings("unchecked")
+		A normalised = (A) EntryUtil.convertForGet(value, accessorType, typeSpec.getNormaliseOption(), key,
+				getConversionService());
 		return normalised;
 	}
 	
 	protected final Object convertAndNormaliseValForPut(Object value, TypeDescriptor mutatorType) {
-		Object normalised;
-		
-		if (mutatorType != null) {
-			normalised = getConvertedValue(value, mutatorType);
-		}
-		else if (! normaliseOption.isDontNormalise()) {			
-			normalised = EntryUtil.normaliseValueForPut(value, getConversionService());
-		}
-		else {
-			normalised = value;
-		}
-		
-		return normalised;
+		return EntryUtil.convertForPut(value, mutatorType, typeSpec.getNormaliseOption(), key, getConversionService());
 	}
 
 
@@ -138,4 +84,17 @@ class BaseEntry<A, M> {
 		return document;
 	}
 
+	protected final EntryTypeSpec getTypeSpec() {
+		return typeSpec;
+	}
+
+	protected final TypeDescriptor getAccessorType() {
+		return typeSpec.getAccessorType();
+	}
+
+	// May be null, in which case no pre-conversion is done for 'put' 
+	protected final TypeDescriptor getMutatorType() {
+		return typeSpec.getMutatorType();
+	}
+
 }
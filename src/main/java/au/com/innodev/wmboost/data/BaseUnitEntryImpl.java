@@ -15,8 +15,6 @@
  */
 package au.com.innodev.wmboost.data;
 
-import org.springframework.core.convert.TypeDescriptor;
-
 import com.wm.data.IDataCursor;
 import com.wm.data.IDataUtil;
 
@@ -30,16 +28,8 @@ import au.com.innodev.wmboost.data.internal.Preconditions;
  */
 class BaseUnitEntryImpl<A, M> extends BaseEntry<A,M> {
 
-	private final TypeDescriptor accessorType;
-	// May be null, in which case no pre-conversion is done for 'put' 
-	private final TypeDescriptor mutatorType;
-	
-	
-	public BaseUnitEntryImpl(DocumentImpl document, String key, TypeDescriptor accessorType, TypeDescriptor mutatorType, NormaliseOption normaliseOption) {
-		super(document, key, normaliseOption);
-		
-		this.accessorType = Preconditions.checkNotNull(accessorType);
-		this.mutatorType = mutatorType;
+	public BaseUnitEntryImpl(DocumentImpl document, String key, EntryTypeSpec typeSpec) {
+		super(document, key, typeSpec);
 	}
 
 	public boolean isAssigned() {
@@ -58,34 +48,41 @@ class BaseUnitEntryImpl<A, M> extends BaseEntry<A,M> {
 	}
 
 	protected final A doGetVal() {
+		Object rawValue = lookupRawVal();
 
-		if (!isAssigned()) {
+		if (isAbsent(rawValue)) {
 			throw new InexistentEntryException(
 					"Unable to retrieve value for key '" + getKey() + "'. Entry doesn't exist in document");
 		}
 
-		return internalGetVal();
+		return convertRawVal(rawValue);
 	}
 
-	protected final A internalGetVal() {
-		IDataCursorResource cursorRes = newCursorResource();
-		try {
-			Object value = IDataUtil.get(cursorRes.getCursor(), getKey());
-			return convertAndNormaliseValForGet(value, accessorType);
-		}
-		finally {
-			cursorRes.close();
-		}
-	}	
-	
-	
+	/**
+	 * Returns the unconverted value of the entry or a marker if the entry
+	 * doesn't exist. Use {@link #isAbsent(Object)} to check for the marker.
+	 * 
+	 * @return the raw value, possibly {@code null}, or a marker
+	 */
+	protected final Object lookupRawVal() {
+		return getDocument().lookupValue(getKey());
+	}
+
+	protected final boolean isAbsent(Object rawValue) {
+		return rawValue == DocumentImpl.ABSENT;
+	}
+
+	protected A convertRawVal(Object rawValue) {
+		return convertAndNormaliseValForGet(rawValue, getAccessorType());
+	}
 
 	protected void doPut(Object value) {
-		Object valueToPut = convertAndNormaliseValForPut(value, mutatorType);
+		Object valueToPut = convertAndNormaliseValForPut(value, getMutatorType());
 
-		IDataCursorResource cursorRes = newCursorResource();
+		IDataCursorResource cursorRes = newWritableCursorResource();
 		try {
 			IDataUtil.put(cursorRes.getCursor(), getKey(), valueToPut);
+			getDocument().indexPut(getKey(), valueToPut);
 		}
 		finally {
 			cursorRes.close();
@@ -97,7 +94,7 @@ class BaseUnitEntryImpl<A, M> extends BaseEntry<A,M> {
 	}
 
 	private void doPutConverted(Object value) {
-		A convertedValue = getConvertedValue(value, accessorType);
+		A convertedValue = getConvertedValue(value, getAccessorType());
 
 		doPut(convertedValue);
 	}
@@ -109,7 +106,7 @@ class BaseUnitEntryImpl<A, M> extends BaseEntry<A,M> {
 	public final void remove(RemoveEntryOption removeOption) {
 		Preconditions.checkNotNull(removeOption, "Remove option cannot be null");
 		
-		IDataCursorResource cursorRes = newCursorResource();
+		IDataCursorResource cursorRes = newWritableCursorResource();
 
 		try {
 			IDataCursor cursor = cursorRes.getCursor();
@@ -122,6 +119,7 @@ class BaseUnitEntryImpl<A, M> extends BaseEntry<A,M> {
 			}
 			deleteCurrentEntry(cursor);
 		} finally {
+			getDocument().invalidateKeyIndex();
 			cursorRes.close();
 		}
 	}
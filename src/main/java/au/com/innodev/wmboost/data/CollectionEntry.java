@@ -34,6 +34,12 @@ import java.util.List;
  * For simplicity, this class exposes values as collections. Internally, values
  * are stored as arrays, as expected by webMethods.
  * <p>
+ * Lists returned by the get methods, including default values, are
+ * read-only: modifying them throws an {@link UnsupportedOperationException}.
+ * Lists of documents and lists of untyped elements are views backed by the
+ * stored array; other lists are converted copies. To change a value, copy the
+ * list (e.g. into an {@code ArrayList}), modify the copy and put it.
+ * <p>
  * An instance manipulates a unit entry, that is, the first entry identified by
  * the key. This is the norm in most uses cases. In rare situations where
  * multiple entries for a key may exist and processing is required for all of
@@ -64,7 +70,7 @@ public interface CollectionEntry<E>
 	 * <p>
 	 * If an entry with the key doesn't exist, an exception is thrown.
 	 * 
-	 * @return entry value, possibly {@code null}
+	 * @return entry value as a read-only list, possibly {@code null}
 	 * @throws InexistentEntryException
 	 *             if there's no entry associated with the key
 	 */
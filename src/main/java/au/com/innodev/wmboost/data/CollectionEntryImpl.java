@@ -18,8 +18,6 @@ package au.com.innodev.wmboost.data;
 import java.util.Collections;
 import java.util.List;
 
-import org.springframework.core.convert.TypeDescriptor;
-
 import au.com.innodev.wmboost.data.internal.Preconditions;
 
 /**
@@ -29,20 +27,8 @@ import au.com.innodev.wmboost.data.internal.Preconditions;
  */
 class CollectionEntryImpl<E> extends BaseUnitEntryImpl<List<E>, Iterable<E>> implements CollectionEntry<E> {
 
-	public CollectionEntryImpl(DocumentImpl document, String key, Class<?> accessorElementType, Class<?> mutatorType, NormaliseOption normaliseOption) {
-		super(document, key, listAccessorType(accessorElementType), arrayMutatorType(mutatorType), normaliseOption);
-	}
-	
-	private static TypeDescriptor listAccessorType(Class<?> accessorClass) {		
-		return TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(accessorClass));
-	}
-	
-	private static TypeDescriptor arrayMutatorType(Class<?> mutatorClass) {		
-		return TypeDescriptor.array(TypeDescriptor.valueOf(mutatorClass));
-	}
-
-	public CollectionEntryImpl(DocumentImpl document, String key, Class<?> accessorType, NormaliseOption normaliseOption) {
-		this(document, key, accessorType, accessorType, normaliseOption);
+	public CollectionEntryImpl(DocumentImpl document, String key, EntryTypeSpec typeSpec) {
+		super(document, key, typeSpec);
 	}
 
 	
@@ -88,8 +74,9 @@ class CollectionEntryImpl<E> extends BaseUnitEntryImpl<List<E>, Iterable<E>> imp
 	public final List<E> getValOrDefault(List<? extends E> defaultValue, NullValHandling nullHandling) {
 		Preconditions.checkNotNull(nullHandling);
 		
-		if (isAssigned()) {
-			List<E> val =  internalGetVal();
+		Object rawVal = lookupRawVal();
+		if (!isAbsent(rawVal)) {
+			List<E> val = convertRawVal(rawVal);
 			
 			if (val == null) {
 				switch (nullHandling) {
@@ -34,10 +34,14 @@ class DefaultDocumentFactory implements DocumentFactory {
 	private final DocumentConfig config;
 	
 	public DefaultDocumentFactory(ConversionService conversionService, DirectIDataFactory directIDataFactory) {
+		this(conversionService, directIDataFactory, false);
+	}
+	
+	public DefaultDocumentFactory(ConversionService conversionService, DirectIDataFactory directIDataFactory, boolean keyIndexEnabled) {
 		Preconditions.checkNotNull(conversionService, "ConversionService cannot be null");
 		Preconditions.checkNotNull(directIDataFactory, "directIDataFactory cannot be null");
 		
-		this.config = new DocumentConfig(conversionService, createInternalConversionService(conversionService), directIDataFactory);
+		this.config = new DocumentConfig(conversionService, createInternalConversionService(conversionService), directIDataFactory, keyIndexEnabled);
 	}
 	
 	@Override
@@ -52,6 +56,20 @@ class DefaultDocumentFactory implements DocumentFactory {
 		return new DocumentImpl(iData, this, config);
 	}
 
+	@Override
+	public Document copyOf(Document document) {
+		Preconditions.checkNotNull(document, "document cannot be null");
+		DocumentCopier copier = new DocumentCopier(config.getCustomIDataFactory(), this);
+		return wrap(copier.copy(DocumentImpl.readableIDataOf(document)));
+	}
+
+	@Override
+	public Document fork(Document base) {
+		Preconditions.checkNotNull(base, "base cannot be null");
+		ForkState forkState = new ForkState(DocumentImpl.readableIDataOf(base), config.getCustomIDataFactory(), this);
+		return new DocumentImpl(forkState, this, config);
+	}
+
 	private ConversionService createInternalConversionService(ConversionService baseConversionService) {
 		List<ConversionService> conversionServices = new ArrayList<ConversionService>();
 		conversionServices.add(createIDataResourceConversionService());
@@ -112,6 +112,89 @@ public interface Document {
 	 */
 	boolean containsKey(String key);
 
+	/**
+	 * Retrieves the values of several unit entries at once. The document is
+	 * traversed only once for all keys, as opposed to once per entry when
+	 * using {@link #entry(String, Class)} and its variations.
+	 * <p>
+	 * The values are captured when this method is invoked. Later changes to
+	 * the document are not reflected in the result.
+	 * 
+	 * <pre>
+	 * EntryValues values = pipeDoc.getValues("name", "age");
+	 * String name = values.getVal("name", String.class);
+	 * Integer age = values.getValOrDefault("age", Integer.class, 18);
+	 * </pre>
+	 * 
+	 * @param keys
+	 *            keys of the entries to retrieve
+	 * @return the values of the entries
+	 */
+	EntryValues getValues(String... keys);
+
+	/**
+	 * Returns the value at the end of a path of nested entries, converted to
+	 * {@code type}. For example:
+	 * 
+	 * <pre>
+	 * String product = pipeDoc.path("order/lines[2]/product", String.class);
+	 * </pre>
+	 * 
+	 * The intermediate documents are traversed directly, without creating
+	 * entry references or document wrappers for them. Only the final value
+	 * is converted. See {@link DocumentPath} for the path syntax.
+	 * <p>
+	 * When the same path is used repeatedly, compile it once and use
+	 * {@link #path(DocumentPath, Class)} instead.
+	 * 
+	 * @param expression
+	 *            path expression
+	 * @param type
+	 *            type of the value
+	 * @return the value, possibly {@code null}
+	 * @throws InexistentEntryException
+	 *             if an entry in the path doesn't exist or an index is out of
+	 *             bounds
+	 * @throws UnexpectedEntryValueException
+	 *             if an intermediate value is not a document or an indexed
+	 *             value is not an array
+	 */
+	<T> T path(String expression, Class<T> type);
+
+	/**
+	 * Returns the value at the end of a compiled path, converted to
+	 * {@code type}.
+	 * 
+	 * @param path
+	 *            compiled path
+	 * @param type
+	 *            type of the value
+	 * @return the value, possibly {@code null}
+	 * @throws InexistentEntryException
+	 *             if an entry in the path doesn't exist or an index is out of
+	 *             bounds
+	 * @throws UnexpectedEntryValueException
+	 *             if an intermediate value is not a document or an indexed
+	 *             value is not an array
+	 * 
+	 * @see #path(String, Class)
+	 */
+	<T> T path(DocumentPath path, Class<T> type);
+
+	/**
+	 * Returns an editor that puts several values at once. Changes are applied
+	 * in a single pass over the document when
+	 * {@link DocumentEditor#commit()} is invoked, as opposed to once per
+	 * entry when using {@link #entry(String, Class)} and its variations.
+	 * 
+	 * <pre>
+	 * pipeDoc.edit().put("name", name).put("age", age).commit();
+	 * </pre>
+	 * 
+	 * @return a new editor for this document
+	 */
+	DocumentEditor edit();
+
 	/**
 	 * Returns a set of keys contained in the document.
 	 * <p>
@@ -191,6 +274,21 @@ public interface Document {
 	 */
 	EntryIterableResource getAllEntries();
 
+	/**
+	 * Returns <em>all</em> document entries, like {@link #getAllEntries()},
+	 * with values returned according to the given mode.
+	 * <p>
+	 * {@link EntryIterationMode#RAW} avoids normalisation altogether, which is
+	 * convenient when only keys or scalar values are needed.
+	 * {@link EntryIterationMode#LAZY} normalises a value only when it's
+	 * retrieved.
+	 * 
+	 * @param mode
+	 *            how entry values are returned
+	 * @return an iterable resource containing all entries
+	 */
+	EntryIterableResource getAllEntries(EntryIterationMode mode);
+
 	/**
 	 * Returns unit entries in the document. If multiple entries exist for a
 	 * given key, only the first entry is retrieved for that key.
@@ -223,6 +321,16 @@ public interface Document {
 	 */
 	IData getIData();
 
+	/**
+	 * Creates a deep copy of this document, using the factory that created
+	 * this document.
+	 * 
+	 * @return the copy
+	 * 
+	 * @see DocumentFactory#copyOf(Document)
+	 */
+	Document deepCopy();
+
 	/* ---------- Entry Section ----------------------------------------- */
 
 	/**
@@ -274,6 +382,9 @@ public interface Document {
 	 * Returns a reference to an entry. Use it when you don't know have an
 	 * assumption about the type of the entry's value or for other special
 	 * cases.
+	 * <p>
+	 * Array values are returned as read-only lists backed by the stored array
+	 * and nested {@link com.wm.data.IData} values as documents.
 	 * 
 	 * @param key
 	 *            key that identifies the document entry
@@ -497,7 +608,8 @@ public interface Document {
 	 * <p>
 	 * Note that because {@link Document} is just an abstraction, the collection
 	 * value is internally stored as an {@link com.wm.data.IData} array, as
-	 * expected by webMethods.
+	 * expected by webMethods. Retrieved lists are read-only views backed by
+	 * that array.
 	 * 
 	 * @param key
 	 *            key that identifies the document entry
@@ -602,6 +714,48 @@ public interface Document {
 	 */
 	CollectionEntry<Date> legacyDatesEntry(String key);
 
+	/**
+	 * Returns a reference to an entry with a value treated as an {@code int}
+	 * array. Unlike {@link #intsEntry(String)}, elements are not boxed when the
+	 * value is retrieved.
+	 * 
+	 * @param key
+	 *            key that identifies the document entry
+	 * 
+	 * @return an entry reference
+	 * 
+	 * @see IntArrayEntry
+	 */
+	IntArrayEntry intArrayEntry(String key);
+
+	/**
+	 * Returns a reference to an entry with a value treated as a {@code long}
+	 * array. Unlike {@link #longsEntry(String)}, elements are not boxed when
+	 * the value is retrieved.
+	 * 
+	 * @param key
+	 *            key that identifies the document entry
+	 * 
+	 * @return an entry reference
+	 * 
+	 * @see LongArrayEntry
+	 */
+	LongArrayEntry longArrayEntry(String key);
+
+	/**
+	 * Returns a reference to an entry with a value treated as a {@code double}
+	 * array. Unlike {@link #doublesEntry(String)}, elements are not boxed when
+	 * the value is retrieved.
+	 * 
+	 * @param key
+	 *            key that identifies the document entry
+	 * 
+	 * @return an entry reference
+	 * 
+	 * @see DoubleArrayEntry
+	 */
+	DoubleArrayEntry doubleArrayEntry(String key);
+
 	/*
 	 * ---------- Split Entry Section ----------------
 	 * 
@@ -27,11 +27,17 @@ final class DocumentConfig {
 	private final ConversionService conversionService;
 	private final ConversionService internalConversionService;	
 	private final DirectIDataFactory directIDataFactory;
+	private final boolean keyIndexEnabled;
 	
 	public DocumentConfig(ConversionService conversionService, ConversionService internalConversionService, DirectIDataFactory directIDataFactory) {
+		this(conversionService, internalConversionService, directIDataFactory, false);
+	}
+	
+	public DocumentConfig(ConversionService conversionService, ConversionService internalConversionService, DirectIDataFactory directIDataFactory, boolean keyIndexEnabled) {
 		this.conversionService = Preconditions.checkNotNull(conversionService);
 		this.internalConversionService = Preconditions.checkNotNull(internalConversionService);
 		this.directIDataFactory = Preconditions.checkNotNull(directIDataFactory);
+		this.keyIndexEnabled = keyIndexEnabled;
 	}
 	
 	
@@ -47,4 +53,8 @@ final class DocumentConfig {
 		return directIDataFactory;
 	}
 	
+	boolean isKeyIndexEnabled() {
+		return keyIndexEnabled;
+	}
+	
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * Creates deep copies of {@link IData} trees.
+ * <p>
+ * Nested {@link IData} instances, documents and arrays are copied; dates are
+ * cloned; any other value (strings, numbers and other objects) is shared with
+ * the source. The tree is traversed with an explicit stack, so its depth is
+ * not limited by the thread stack. A container referenced several times in
+ * the source is copied once and the copy is referenced the same way, which
+ * also makes cyclic structures safe to copy.
+ * <p>
+ * Instances are single use: values copied with the same instance share their
+ * copies, as if they were part of the same tree.
+ */
+final class DocumentCopier {
+
+	private final DirectIDataFactory idataFactory;
+	private final DocumentFactory documentFactory;
+	private final Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+	// Source/target pairs whose contents are still to be copied
+	private final Deque<Object[]> pending = new ArrayDeque<Object[]>();
+
+	DocumentCopier(DirectIDataFactory idataFactory, DocumentFactory documentFactory) {
+		this.idataFactory = Preconditions.checkNotNull(idataFactory);
+		this.documentFactory = Preconditions.checkNotNull(documentFactory);
+	}
+
+	IData copy(IData source) {
+		Preconditions.checkNotNull(source, "source cannot be null");
+		return (IData) copyOf(source);
+	}
+
+	/**
+	 * Returns a deep copy of a value. Values copied before by this instance
+	 * are copied once, so the copies keep referencing each other the same way
+	 * as the sources do.
+	 */
+	Object copyOf(Object source) {
+		Object target = copyValue(source);
+		while (!pending.isEmpty()) {
+			Object[] pair = pending.pop();
+			if (pair[0] instanceof IData) {
+				copyEntries((IData) pair[0], (IData) pair[1]);
+			}
+			else {
+				copyElements((Object[]) pair[0], (Object[]) pair[1]);
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Returns the copy made of a value, or {@code null} if it hasn't been
+	 * copied.
+	 */
+	Object getCopy(Object source) {
+		return copies.get(source);
+	}
+
+	/**
+	 * Returns the copy of a value. The contents of new IData and object array
+	 * copies are filled in later, when their pair is taken from the stack.
+	 */
+	private Object copyValue(Object value) {
+		if (value == null || !isCopied(value)) {
+			return value;
+		}
+
+		Object existing = copies.get(value);
+		if (existing != null) {
+			return existing;
+		}
+
+		Object copy;
+		if (value instanceof IData) {
+			copy = idataFactory.create();
+			pending.push(new Object[] { value, copy });
+		}
+		else if (value instanceof Document) {
+			copy = documentFactory.wrap((IData) copyValue(DocumentImpl.readableIDataOf((Document) value)));
+		}
+		else if (value instanceof Object[]) {
+			Object[] array = (Object[]) value;
+			copy = Array.newInstance(array.getClass().getComponentType(), array.length);
+			pending.push(new Object[] { value, copy });
+		}
+		else if (value instanceof Date) {
+			copy = ((Date) value).clone();
+		}
+		else {
+			// Primitive array
+			int length = Array.getLength(value);
+			copy = Array.newInstance(value.getClass().getComponentType(), length);
+			System.arraycopy(value, 0, copy, 0, length);
+		}
+		copies.put(value, copy);
+		return copy;
+	}
+
+	private static boolean isCopied(Object value) {
+		return value instanceof IData || value instanceof Document || value instanceof Date
+				|| value.getClass().isArray();
+	}
+
+	private void copyEntries(IData source, IData target) {
+		IDataCursor sourceCursor = source.getCursor();
+		IDataCursor targetCursor = target.getCursor();
+		try {
+			// Appending after the last inserted element keeps each insertion constant-time
+			targetCursor.last();
+			while (sourceCursor.next()) {
+				targetCursor.insertAfter(sourceCursor.getKey(), copyValue(sourceCursor.getValue()));
+			}
+		}
+		finally {
+			sourceCursor.destroy();
+			targetCursor.destroy();
+		}
+	}
+
+	private void copyElements(Object[] source, Object[] target) {
+		for (int i = 0; i < source.length; i++) {
+			target[i] = copyValue(source[i]);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * Collects changes to a document and applies them at once when
+ * {@link #commit()} is invoked. Obtain an instance with
+ * {@link Document#edit()}.
+ * <p>
+ * Putting several values one by one with entries positions a cursor per
+ * entry. An editor applies all its changes in a single pass over the
+ * document, which benefits code that populates many entries, such as mapping
+ * steps:
+ * 
+ * <pre>
+ * outputDoc.edit()
+ * 	.put("name", name)
+ * 	.put("age", age)
+ * 	.put("address", addressDoc)
+ * 	.commit();
+ * </pre>
+ * <p>
+ * The document is not modified until {@link #commit()} is invoked. Once the
+ * changes are committed, the editor is empty and can be reused.
+ */
+public interface DocumentEditor {
+
+	/**
+	 * Adds a change that puts the value in the entry identified by the key.
+	 * <p>
+	 * Once committed, the result is the same as invoking
+	 * {@link ItemEntry#put(Object)} on {@link Document#entry(String)}: the
+	 * value of the first entry with the key is replaced or, if there's no such
+	 * entry, a new one is added at the end of the document. New entries are
+	 * added in the order they were first put in the editor.
+	 * <p>
+	 * If the same key is put more than once, the last value is used.
+	 * 
+	 * @param key
+	 *            entry key
+	 * @param value
+	 *            new value, possibly {@code null}
+	 * @return this editor
+	 */
+	DocumentEditor put(String key, Object value);
+
+	/**
+	 * Applies the changes to the document.
+	 */
+	void commit();
+}
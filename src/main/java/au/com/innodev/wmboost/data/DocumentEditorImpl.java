@@ -0,0 +1,73 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * <p>Implementation of {@link DocumentEditor}.
+ */
+final class DocumentEditorImpl implements DocumentEditor {
+
+	private final DocumentImpl document;
+	private final Map<String, Integer> indexByKey = new HashMap<String, Integer>();
+	private final List<String> keys = new ArrayList<String>();
+	// Normalised values
+	private final List<Object> values = new ArrayList<Object>();
+
+	DocumentEditorImpl(DocumentImpl document) {
+		this.document = Preconditions.checkNotNull(document);
+	}
+
+	@Override
+	public DocumentEditor put(String key, Object value) {
+		Preconditions.checkHasLength(key, "Invalid key was provided (null or empty string)");
+
+		EntryTypeSpec typeSpec = EntryTypeSpec.OBJECT;
+		Object normalised = EntryUtil.convertForPut(value, typeSpec.getMutatorType(), typeSpec.getNormaliseOption(),
+				key, document.getInternalConversionService());
+
+		Integer index = indexByKey.get(key);
+		if (index != null) {
+			values.set(index, normalised);
+		} else {
+			indexByKey.put(key, keys.size());
+			keys.add(key);
+			values.add(normalised);
+		}
+		return this;
+	}
+
+	@Override
+	public void commit() {
+		int count = keys.size();
+		if (count > 0) {
+			boolean[] pending = new boolean[count];
+			Arrays.fill(pending, true);
+			document.putValues(indexByKey, keys.toArray(new String[count]), values.toArray(), pending, count);
+		}
+
+		indexByKey.clear();
+		keys.clear();
+		values.clear();
+	}
+}
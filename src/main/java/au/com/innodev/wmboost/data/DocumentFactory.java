@@ -30,4 +30,48 @@ public interface DocumentFactory {
 	Document wrap(IData iData);
 
 	Document create();
+
+	/**
+	 * Creates a deep copy of a document. The copy is created and wrapped by
+	 * this factory.
+	 * <p>
+	 * Nested documents ({@link com.wm.data.IData} instances) and arrays are
+	 * copied at any depth and dates are cloned. Other values, such as strings
+	 * and numbers, are shared with the source document. A nested document or
+	 * array referenced more than once is copied once, so the copy keeps the
+	 * same structure.
+	 * 
+	 * @param document
+	 *            document to copy
+	 * @return the copy
+	 */
+	Document copyOf(Document document);
+
+	/**
+	 * Creates a copy-on-write fork of a document. The fork reads the entries
+	 * of {@code base} until it's first modified. At that point, it makes a
+	 * private copy of the top-level entries, so changes to the fork are never
+	 * visible in {@code base} or in other forks.
+	 * <p>
+	 * Nested documents read from the fork (e.g. with
+	 * {@link Document#docEntry(String)} or {@link Document#docsEntry(String)})
+	 * are forks too: the first change to one of them copies it and the
+	 * documents that contain it, and nothing else. Calling
+	 * {@link Document#getIData()} on a fork copies every nested document and
+	 * array still shared with {@code base}, since the returned IData may be
+	 * modified at any depth.
+	 * <p>
+	 * Values read as raw IData (e.g. with {@link EntryIterationMode#RAW} or as
+	 * {@code IData} entries) and mutable values such as dates are shared with
+	 * {@code base} and must not be modified. The key index is not used for
+	 * forks.
+	 * <p>
+	 * {@code base} must not be modified while forks that haven't been
+	 * modified are in use. Many forks can share the same base.
+	 * 
+	 * @param base
+	 *            document to fork
+	 * @return the fork
+	 */
+	Document fork(Document base);
 }
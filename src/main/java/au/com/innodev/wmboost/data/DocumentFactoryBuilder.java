@@ -27,7 +27,18 @@ public class DocumentFactoryBuilder {
 
 	private ConversionService conversionService;
 	private DirectIDataFactory directIDataFactory;	
+	private boolean keyIndexEnabled = false;
 
+	/**
+	 * Sets the conversion service used to convert entry values.
+	 * <p>
+	 * Values that are already instances of the requested type are returned
+	 * as is, without going through the conversion service. Converters from a
+	 * type to itself or to a supertype are therefore not applied.
+	 * 
+	 * @param conversionService
+	 *            conversion service
+	 */
 	public void setConversionService(ConversionService conversionService) {
 		this.conversionService = conversionService;
 	}
@@ -36,12 +47,38 @@ public class DocumentFactoryBuilder {
 		this.directIDataFactory = directIDataFactory;
 	}
 
+	/**
+	 * Enables or disables the key index of documents created by the factory.
+	 * It's disabled by default.
+	 * <p>
+	 * When enabled, a document builds an index of its keys on the first lookup
+	 * and uses it for subsequent ones, making them constant-time instead of
+	 * linear in the number of entries. This benefits documents with many keys
+	 * that are looked up repeatedly, such as large flat-file-derived documents.
+	 * For small documents the cost of building the index may outweigh the
+	 * gains.
+	 * <p>
+	 * The index is kept up to date with changes made through the document and
+	 * its entries only. Changes made to the underlying {@code IData} by other
+	 * means, e.g. via {@link Document#getIData()}, via {@code IDataUtil} or
+	 * via another document wrapping the same {@code IData}, are not detected
+	 * and lookups may then return stale results. Only enable the index when
+	 * all modifications go through a single document instance. Forks never
+	 * use the index.
+	 * 
+	 * @param keyIndexEnabled
+	 *            true to enable the key index; false, otherwise
+	 */
+	public void setKeyIndexEnabled(boolean keyIndexEnabled) {
+		this.keyIndexEnabled = keyIndexEnabled;
+	}
+
 	public DocumentFactory build()
 	{
 		Preconditions.checkNotNull(conversionService, "ConversionService cannot be null");
 		Preconditions.checkNotNull(directIDataFactory, "directIDataFactory cannot be null");
 				
-		return new DefaultDocumentFactory(conversionService, directIDataFactory);
+		return new DefaultDocumentFactory(conversionService, directIDataFactory, keyIndexEnabled);
 	}
 	
 	
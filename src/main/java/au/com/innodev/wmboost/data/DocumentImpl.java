@@ -15,22 +15,24 @@
  */
 package au.com.innodev.wmboost.data;
 
-import static au.com.innodev.wmboost.data.NormaliseOption.DONT_NORMALISE;
-import static au.com.innodev.wmboost.data.NormaliseOption.MAY_NORMALISE;
-
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.core.convert.ConversionService;
-import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.util.Assert;
 
 import com.wm.data.IData;
 import com.wm.data.IDataCursor;
+import com.wm.data.IDataUtil;
 
 import au.com.innodev.wmboost.data.internal.Preconditions;
 
@@ -40,23 +42,343 @@ import au.com.innodev.wmboost.data.internal.Preconditions;
 final class DocumentImpl implements Document {
 
 	private final DocumentFactory factory;
+	private final DocumentConfig config;
+	// Null for forks, which read and write through their state
 	private final IData iData;
+	private final ForkState forkState;
 	private final ConversionService internalConversionService;
+	private final boolean keyIndexEnabled;
+	/*
+	 * First value for each key, in key order. Only used when the index is
+	 * enabled. It's built lazily and discarded (set to null) when a change it
+	 * can't track is made.
+	 */
+	private Map<String, Object> keyIndex;
+	// Number of entries, including split ones, while the index is built
+	private int indexedTotalEntries;
+
+	/**
+	 * Marker returned by {@link #lookupValue(String)} when there's no entry
+	 * with the key.
+	 */
+	static final Object ABSENT = new Object();
 
 	DocumentImpl(IData document, DocumentFactory factory, DocumentConfig config) {
 		this.factory = factory;
+		this.config = config;
 		this.iData = Preconditions.checkNotNull(document);
+		this.forkState = null;
 		this.internalConversionService = config.getInternalConversionService();
+		this.keyIndexEnabled = config.isKeyIndexEnabled();
+	}
+
+	/**
+	 * Creates a fork, or a document nested in a fork, that reads and writes
+	 * through the given copy-on-write state.
+	 */
+	DocumentImpl(ForkState forkState, DocumentFactory factory, DocumentConfig config) {
+		this.factory = factory;
+		this.config = config;
+		this.iData = null;
+		this.forkState = Preconditions.checkNotNull(forkState);
+		this.internalConversionService = new ForkConversionService(config.getInternalConversionService(), this);
+		// Materialising a nested document replaces values in its parents,
+		// which their indexes couldn't track
+		this.keyIndexEnabled = false;
 	}
 
+	/**
+	 * Returns a cursor resource for reading. For forks, it may be positioned on
+	 * the shared base document, so it must not be used for modifications.
+	 */
 	IDataCursorResource newCursorResource() {
-		return new IDataCursorResource(iData);
+		return new IDataCursorResource(getReadableIData());
+	}
+
+	/**
+	 * Returns a cursor resource for modifying the document. A fork is
+	 * materialised first.
+	 */
+	IDataCursorResource newWritableCursorResource() {
+		return new IDataCursorResource((forkState != null) ? forkState.getWritableIData() : iData);
+	}
+
+	/**
+	 * Returns the IData of a document for reading, without materialising it if
+	 * it's a fork.
+	 */
+	static IData readableIDataOf(Document document) {
+		return (document instanceof DocumentImpl) ? ((DocumentImpl) document).getReadableIData()
+				: document.getIData();
+	}
+
+	/**
+	 * Returns the IData that is currently read, without materialising a fork.
+	 */
+	IData getReadableIData() {
+		return (forkState != null) ? forkState.getIData() : iData;
+	}
+
+	/**
+	 * Wraps a nested IData value, or IData element of an array, read from
+	 * this document. In a fork, the result is a nested fork if the value is
+	 * still shared with the base.
+	 */
+	Document wrapNested(IData value) {
+		DocumentImpl nestedFork = nestedForkOf(value);
+		return (nestedFork != null) ? nestedFork : factory.wrap(value);
+	}
+
+	private DocumentImpl nestedForkOf(IData value) {
+		ForkState nestedState = (forkState != null) ? forkState.childFor(value) : null;
+		return (nestedState != null) ? new DocumentImpl(nestedState, factory, config) : null;
+	}
+
+	/**
+	 * Returns the value of the first entry with the key or {@link #ABSENT} if
+	 * no entry exists for it.
+	 * <p>
+	 * Existence and value are resolved with a single cursor positioning, as
+	 * opposed to checking {@link #containsKey(String)} before retrieving the
+	 * value.
+	 * 
+	 * @param key
+	 *            key of the entry
+	 * @return the entry value, possibly {@code null}, or {@link #ABSENT}
+	 */
+	Object lookupValue(String key) {
+		Map<String, Object> index = getKeyIndex();
+		if (index != null) {
+			return lookupIndexed(index, key);
+		}
+
+		IDataCursorResource cursorRes = newCursorResource();
+		try {
+			IDataCursor cursor = cursorRes.getCursor();
+			return cursor.first(key) ? cursor.getValue() : ABSENT;
+		}
+		finally {
+			cursorRes.close();
+		}
+	}
+
+	/**
+	 * Returns the values of the first entries with the given keys, walking the
+	 * document with a single cursor. The walk stops as soon as all keys have
+	 * been found.
+	 * 
+	 * @param indexByKey
+	 *            position in the returned array for each key, from 0 to the
+	 *            number of keys - 1
+	 * @return the entry values in the positions given by {@code indexByKey};
+	 *         {@link #ABSENT} for keys with no entry
+	 */
+	Object[] lookupValues(Map<String, Integer> indexByKey) {
+		Object[] values = new Object[indexByKey.size()];
+
+		Map<String, Object> firstValueByKey = getKeyIndex();
+		if (firstValueByKey != null) {
+			for (Map.Entry<String, Integer> keyEntry : indexByKey.entrySet()) {
+				values[keyEntry.getValue()] = lookupIndexed(firstValueByKey, keyEntry.getKey());
+			}
+			return values;
+		}
+
+		Arrays.fill(values, ABSENT);
+		int remaining = values.length;
+
+		IDataCursorResource cursorRes = newCursorResource();
+		try {
+			IDataCursor cursor = cursorRes.getCursor();
+			boolean hasMore = cursor.first();
+			while (hasMore && remaining > 0) {
+				Integer index = indexByKey.get(cursor.getKey());
+				// Only the first entry with the key is considered
+				if (index != null && values[index] == ABSENT) {
+					values[index] = cursor.getValue();
+					remaining--;
+				}
+				hasMore = cursor.next();
+			}
+			return values;
+		}
+		finally {
+			cursorRes.close();
+		}
+	}
+
+	/**
+	 * Puts several values with a single cursor, with the same result as
+	 * invoking {@link com.wm.data.IDataUtil#put} for each of them: the value
+	 * of the first entry with the key is replaced or, if there's no such
+	 * entry, a new one is added at the end of the document. New entries are
+	 * added in position order.
+	 * 
+	 * @param indexByKey
+	 *            position of each key in {@code keys} and {@code values}
+	 * @param keys
+	 *            entry keys
+	 * @param values
+	 *            values to put, already normalised
+	 * @param pending
+	 *            positions to put. The array is updated as values are put
+	 * @param pendingCount
+	 *            number of positions to put
+	 */
+	void putValues(Map<String, Integer> indexByKey, String[] keys, Object[] values, boolean[] pending,
+			int pendingCount) {
+		int remaining = pendingCount;
+
+		IDataCursorResource cursorRes = newWritableCursorResource();
+		try {
+			IDataCursor cursor = cursorRes.getCursor();
+
+			// Replace the values of existing entries
+			boolean hasMore = cursor.first();
+			while (hasMore && remaining > 0) {
+				Integer index = indexByKey.get(cursor.getKey());
+				if (index != null && pending[index]) {
+					cursor.setValue(values[index]);
+					indexPut(keys[index], values[index]);
+					pending[index] = false;
+					remaining--;
+				}
+				hasMore = cursor.next();
+			}
+
+			// Append the rest
+			if (remaining > 0) {
+				cursor.last();
+				for (int i = 0; i < keys.length; i++) {
+					if (pending[i]) {
+						cursor.insertAfter(keys[i], values[i]);
+						indexPut(keys[i], values[i]);
+						pending[i] = false;
+					}
+				}
+			}
+		}
+		finally {
+			cursorRes.close();
+		}
+	}
+
+	public DocumentEditor edit() {
+		return new DocumentEditorImpl(this);
+	}
+
+	public EntryValues getValues(String... keys) {
+		Preconditions.checkNotNull(keys, "Keys cannot be null");
+
+		Map<String, Integer> indexByKey = new HashMap<String, Integer>();
+		for (String key : keys) {
+			Preconditions.checkHasLength(key, "Invalid key was provided (null or empty string)");
+			if (!indexByKey.containsKey(key)) {
+				indexByKey.put(key, indexByKey.size());
+			}
+		}
+
+		return new EntryValuesImpl(this, indexByKey, lookupValues(indexByKey));
+	}
+
+	@Override
+	public <T> T path(String expression, Class<T> type) {
+		return path(DocumentPath.compile(expression), type);
+	}
+
+	@Override
+	public <T> T path(DocumentPath path, Class<T> type) {
+		Preconditions.checkNotNull(path, "Path cannot be null");
+		Preconditions.checkNotNull(type, "Type cannot be null");
+
+		List<DocumentPath.Step> steps = path.getSteps();
+		// In a fork, the nested fork the value is read from. Null when raw IData is walked
+		DocumentImpl nestedFork = (forkState != null) ? this : null;
+		Object value = null;
+		for (int i = 0; i < steps.size(); i++) {
+			DocumentPath.Step step = steps.get(i);
+			if (i == 0) {
+				value = lookupValue(step.getKey());
+			}
+			else {
+				IData nested = toPathIData(value, steps.get(i - 1), path);
+				if (nestedFork != null) {
+					nestedFork = nestedFork.nestedForkOf(nested);
+				}
+				value = (nestedFork != null) ? nestedFork.lookupValue(step.getKey())
+						: lookupRawValue(nested, step.getKey());
+			}
+
+			if (value == ABSENT) {
+				throw new InexistentEntryException(
+						"Entry with key '" + step.getKey() + "' doesn't exist in path '" + path + "'");
+			}
+			if (step.hasIndex()) {
+				value = getPathElement(value, step, path);
+			}
+		}
+
+		EntryTypeSpec typeSpec = EntryTypeSpec.forEntryType(type);
+		@SuppressWarnings("unchecked")
+		T converted = (T) EntryUtil.convertForGet(value, typeSpec.getAccessorType(), typeSpec.getNormaliseOption(),
+				path.getExpression(), (nestedFork != null) ? nestedFork.internalConversionService
+						: config.getInternalConversionService());
+		return converted;
+	}
+
+	private static Object lookupRawValue(IData iData, String key) {
+		IDataCursor cursor = iData.getCursor();
+		try {
+			return cursor.first(key) ? cursor.getValue() : ABSENT;
+		}
+		finally {
+			cursor.destroy();
+		}
+	}
+
+	private static IData toPathIData(Object value, DocumentPath.Step step, DocumentPath path) {
+		if (value instanceof IData) {
+			return (IData) value;
+		}
+		else if (value instanceof Document) {
+			return readableIDataOf((Document) value);
+		}
+		else {
+			throw new UnexpectedEntryValueException(
+					"Value of entry with key '" + step.getKey() + "' in path '" + path + "' is not a document");
+		}
+	}
+
+	private static Object getPathElement(Object value, DocumentPath.Step step, DocumentPath path) {
+		int index = step.getIndex();
+		int size;
+		if (value instanceof Object[]) {
+			size = ((Object[]) value).length;
+		}
+		else if (value instanceof List<?>) {
+			size = ((List<?>) value).size();
+		}
+		else {
+			throw new UnexpectedEntryValueException(
+					"Value of entry with key '" + step.getKey() + "' in path '" + path + "' is not an array");
+		}
+
+		if (index >= size) {
+			throw new InexistentEntryException("Index " + index + " is out of bounds for entry with key '"
+					+ step.getKey() + "' in path '" + path + "' (size " + size + ")");
+		}
+		return (value instanceof Object[]) ? ((Object[]) value)[index] : ((List<?>) value).get(index);
 	}
 
 	public boolean containsKey(String key) {
+		Assert.hasLength(key, "Invalid key was provided (null or empty string)");
+		Map<String, Object> index = getKeyIndex();
+		if (index != null) {
+			return index.containsKey(key);
+		}
+
 		IDataCursorResource cursorRes = newCursorResource();
 		try {
-			Assert.hasLength(key, "Invalid key was provided (null or empty string)");
 			return cursorRes.getCursor().first(key);
 		}
 		finally {
@@ -65,6 +387,10 @@ final class DocumentImpl implements Document {
 	}
 
 	public Collection<String> getKeys() {
+		Map<String, Object> index = getKeyIndex();
+		if (index != null) {
+			return Collections.unmodifiableSet(new LinkedHashSet<String>(index.keySet()));
+		}
 
 		// Using LinkedHashSet to preserve insertion order
 		Set<String> keys = new LinkedHashSet<String>();
@@ -85,8 +411,88 @@ final class DocumentImpl implements Document {
 		}
 	}
 
+	/**
+	 * Returns the key index, building it if necessary, or {@code null} if the
+	 * index is not enabled.
+	 */
+	private Map<String, Object> getKeyIndex() {
+		if (keyIndexEnabled && keyIndex == null) {
+			buildKeyIndex();
+		}
+		return keyIndex;
+	}
+
+	private void buildKeyIndex() {
+		Map<String, Object> index = new LinkedHashMap<String, Object>();
+		int count = 0;
+		IDataCursorResource cursorRes = newCursorResource();
+		try {
+			IDataCursor cursor = cursorRes.getCursor();
+			boolean hasMore = cursor.first();
+			while (hasMore) {
+				String key = cursor.getKey();
+				if (!index.containsKey(key)) {
+					index.put(key, cursor.getValue());
+				}
+				count++;
+				hasMore = cursor.next();
+			}
+		}
+		finally {
+			cursorRes.close();
+		}
+		keyIndex = index;
+		indexedTotalEntries = count;
+	}
+
+	private static Object lookupIndexed(Map<String, Object> index, String key) {
+		Object value = index.get(key);
+		if (value == null && !index.containsKey(key)) {
+			return ABSENT;
+		}
+		return value;
+	}
+
+	/**
+	 * Indicates whether the key index, if built, shows that there's no entry
+	 * with the key. A {@code false} result doesn't imply that an entry exists.
+	 */
+	boolean isKnownAbsent(String key) {
+		Map<String, Object> index = getKeyIndex();
+		return index != null && !index.containsKey(key);
+	}
+
+	/**
+	 * Records in the key index, if built, that the first entry with the key now
+	 * has the value. To be invoked after the equivalent of
+	 * {@link com.wm.data.IDataUtil#put} is performed.
+	 */
+	void indexPut(String key, Object value) {
+		if (keyIndex != null) {
+			if (!keyIndex.containsKey(key)) {
+				// A new entry was added
+				indexedTotalEntries++;
+			}
+			keyIndex.put(key, value);
+		}
+	}
+
+	/**
+	 * Discards the key index, if built. To be invoked after entries are
+	 * removed or modified in ways other than {@link #indexPut(String, Object)}.
+	 */
+	void invalidateKeyIndex() {
+		keyIndex = null;
+	}
+
 	public IData getIData() {
-		return iData;
+		// The caller may modify the IData at any depth, so a fork can't expose its base
+		return (forkState != null) ? forkState.isolate() : iData;
+	}
+
+	@Override
+	public Document deepCopy() {
+		return factory.copyOf(this);
 	}
 
 	ConversionService getInternalConversionService() {
@@ -106,7 +512,7 @@ final class DocumentImpl implements Document {
 				sb.append(" entries");
 			}
 			sb.append(", wrapping IData of type ");
-			sb.append(iData.getClass().getCanonicalName());
+			sb.append(getReadableIData().getClass().getCanonicalName());
 			sb.append("}");
 
 		return sb.toString();
@@ -114,6 +520,11 @@ final class DocumentImpl implements Document {
 
 	@Override
 	public boolean isEmpty() {
+		// Only an existing index is used: building it costs more than the check
+		if (keyIndex != null) {
+			return keyIndex.isEmpty();
+		}
+
 		IDataCursorResource cursorRes = newCursorResource();
 		try {
 			// True if first entry not found		
@@ -126,41 +537,44 @@ final class DocumentImpl implements Document {
 
 	@Override
 	public int getTotalEntries() {
-		int count = 0;
+		// Only an existing index is used: building it costs more than counting
+		if (keyIndex != null) {
+			return indexedTotalEntries;
+		}
+
 		IDataCursorResource cursorRes = newCursorResource();
 		try {
-			boolean existsAtCurrentPos = cursorRes.getCursor().first();
-			
-			while(existsAtCurrentPos) {
-				count++;
-				existsAtCurrentPos = cursorRes.getCursor().next();
-			}
-			return count;
+			// Lets the IData implementation provide its size if it can
+			return IDataUtil.size(cursorRes.getCursor());
 		}
 		finally {
 			cursorRes.close();
 		}
-			
 	}
 
 	@Override
 	public void clear() {
-		boolean hasMore;
-		
-		do {
-			IDataCursorResource cursorRes = newCursorResource();
-			try {
-				hasMore = cursorRes.getCursor().first();
-				if (hasMore) {
-					cursorRes.getCursor().delete();
-				}				
+		// A single cursor is used for all deletions
+		IDataCursorResource cursorRes = newWritableCursorResource();
+		boolean cleared = false;
+		try {
+			IDataCursor cursor = cursorRes.getCursor();
+			while (cursor.first()) {
+				cursor.delete();
 			}
-			finally {
-				cursorRes.close();
+			cleared = true;
+		}
+		finally {
+			if (cleared && keyIndex != null) {
+				// The document is known to be empty, no need to rebuild the index
+				keyIndex.clear();
+				indexedTotalEntries = 0;
 			}
-			
-		} while (hasMore);
-		
+			else {
+				invalidateKeyIndex();
+			}
+			cursorRes.close();
+		}
 	}
 	
 	
@@ -168,6 +582,11 @@ final class DocumentImpl implements Document {
 	public EntryIterableResource getAllEntries() {
 		return new EntryIterable(this);
 	}
+
+	@Override
+	public EntryIterableResource getAllEntries(EntryIterationMode mode) {
+		return new EntryIterable(this, mode);
+	}
 	
 	@Override
 	public Iterable<KeyValue> getUnitEntries() {
@@ -177,7 +596,7 @@ final class DocumentImpl implements Document {
 
 	/* **************** Entries section *********************/	
 	public ItemEntry<Object> entry(String key) {
-		return new ItemEntryImpl<Object>(this, key, Object.class, MAY_NORMALISE);
+		return new ItemEntryImpl<Object>(this, key, EntryTypeSpec.OBJECT);
 	}
 
 	public <T> ItemEntry<T> entry(String key, Class<T> type) {
@@ -195,12 +614,11 @@ final class DocumentImpl implements Document {
 			return entry;
 		}
 		else if (Collection.class.isAssignableFrom(type)) {
-			@SuppressWarnings("unchecked")
-			ItemEntry<T> entry = (ItemEntry<T>) collectionEntry(key);
-			return entry;
+			// Same value handling as collectionEntry(key), exposed as an item entry
+			return specificTypeEntry(key, EntryTypeSpec.OBJECTS);
 		}		
 		else {
-			return specificTypeEntry(key, type);
+			return specificTypeEntry(key, EntryTypeSpec.forItemType(type));
 		}		
 		
 	}
@@ -209,8 +627,8 @@ final class DocumentImpl implements Document {
 		return new NestedDocEntryImpl(this, factory, key);
 	}
 	
-	private <T> ItemEntry<T> specificTypeEntry(String key, Class<T> type) {
-		return new ItemEntryImpl<T>(this, key, type, DONT_NORMALISE);
+	private <T> ItemEntry<T> specificTypeEntry(String key, EntryTypeSpec typeSpec) {
+		return new ItemEntryImpl<T>(this, key, typeSpec);
 	}
 	
 	public StringEntry stringEntry(String key) {
@@ -219,42 +637,42 @@ final class DocumentImpl implements Document {
 
 	@Override
 	public ItemEntry<Boolean> booleanEntry(String key) {
-		return specificTypeEntry(key, Boolean.class);
+		return specificTypeEntry(key, EntryTypeSpec.BOOLEAN);
 	}
 	
 	@Override
 	public ItemEntry<Integer> intEntry(String key) {	
-		return specificTypeEntry(key, Integer.class);
+		return specificTypeEntry(key, EntryTypeSpec.INTEGER);
 	}
 	
 	@Override
 	public ItemEntry<Long> longEntry(String key) {	
-		return specificTypeEntry(key, Long.class);
+		return specificTypeEntry(key, EntryTypeSpec.LONG);
 	}
 	
 	@Override
 	public ItemEntry<Short> shortEntry(String key) {	
-		return specificTypeEntry(key, Short.class);
+		return specificTypeEntry(key, EntryTypeSpec.SHORT);
 	}
 	
 	@Override
 	public ItemEntry<Float> floatEntry(String key) {
-		return specificTypeEntry(key, Float.class);
+		return specificTypeEntry(key, EntryTypeSpec.FLOAT);
 	}
 	
 	@Override
 	public ItemEntry<Double> doubleEntry(String key) {
-		return specificTypeEntry(key, Double.class);
+		return specificTypeEntry(key, EntryTypeSpec.DOUBLE);
 	}
 	
 	@Override
 	public ItemEntry<BigDecimal> bigDecimalEntry(String key) {
-		return specificTypeEntry(key, BigDecimal.class);
+		return specificTypeEntry(key, EntryTypeSpec.BIG_DECIMAL);
 	}
 	
 	@Override
 	public ItemEntry<Date> legacyDateEntry(String key) {
-		return specificTypeEntry(key, Date.class);
+		return specificTypeEntry(key, EntryTypeSpec.DATE);
 	}
 	
 	public <E> CollectionEntry<E> collectionEntry(String key, Class<E> memberType) {
@@ -270,74 +688,89 @@ final class DocumentImpl implements Document {
 			return entry;
 		}		
 		else {
-			return typedCollectionEntry(key, memberType);
+			return typedCollectionEntry(key, EntryTypeSpec.forCollectionType(memberType));
 		}		
 		
 	}
 	
 	@Override
 	public CollectionEntry<Object> collectionEntry(String key) {	
-		return new CollectionEntryImpl<Object>(this, key, Object.class, MAY_NORMALISE);
+		return new CollectionEntryImpl<Object>(this, key, EntryTypeSpec.OBJECTS);
 	}
 	
 
-	private <E> CollectionEntry<E> typedCollectionEntry(String key, Class<E> memberType) {
-		return new CollectionEntryImpl<E>(this, key, memberType, DONT_NORMALISE);
+	private <E> CollectionEntry<E> typedCollectionEntry(String key, EntryTypeSpec typeSpec) {
+		return new CollectionEntryImpl<E>(this, key, typeSpec);
 	}
 	
 	@Override
 	public CollectionEntry<Document> docsEntry(String key) {
-		return new CollectionEntryImpl<Document>(this, key, Document.class, IData.class, DONT_NORMALISE);
+		return new CollectionEntryImpl<Document>(this, key, EntryTypeSpec.DOCUMENTS);
 	}
 
 	@Override
 	public CollectionEntry<String> stringsEntry(String key) {
-		return typedCollectionEntry(key, String.class);
+		return typedCollectionEntry(key, EntryTypeSpec.STRINGS);
 	}
 	
 	@Override
 	public CollectionEntry<Boolean> booleansEntry(String key) {
-		return typedCollectionEntry(key, Boolean.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.BOOLEANS);		
 	}
 	
 	@Override
 	public CollectionEntry<Integer> intsEntry(String key) {
-		return typedCollectionEntry(key, Integer.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.INTEGERS);		
 	}
 	
 	@Override
 	public CollectionEntry<Long> longsEntry(String key) {
-		return typedCollectionEntry(key, Long.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.LONGS);		
 	}
 	
 	@Override
 	public CollectionEntry<Short> shortsEntry(String key) {
-		return typedCollectionEntry(key, Short.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.SHORTS);		
 	}
 	
 	@Override
 	public CollectionEntry<Float> floatsEntry(String key) {
-		return typedCollectionEntry(key, Float.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.FLOATS);		
 	}	
 	
 	@Override
 	public CollectionEntry<Double> doublesEntry(String key) {
-		return typedCollectionEntry(key, Double.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.DOUBLES);		
 	}
 	
 	@Override
 	public CollectionEntry<BigDecimal> bigDecimalsEntry(String key) {
-		return collectionEntry(key, BigDecimal.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.BIG_DECIMALS);		
 	}
 	
 	@Override
 	public CollectionEntry<Date> legacyDatesEntry(String key) {
-		return collectionEntry(key, Date.class);		
+		return typedCollectionEntry(key, EntryTypeSpec.DATES);		
+	}
+	
+	@Override
+	public IntArrayEntry intArrayEntry(String key) {
+		return new IntArrayEntryImpl(this, key);
+	}
+	
+	@Override
+	public LongArrayEntry longArrayEntry(String key) {
+		return new LongArrayEntryImpl(this, key);
+	}
+	
+	@Override
+	public DoubleArrayEntry doubleArrayEntry(String key) {
+		return new DoubleArrayEntryImpl(this, key);
 	}
 	
 	@Override
 	public SplitEntry<Object> splitEntry(String key) {
-		return new SplitEntryImpl<Object>(this, key, Object.class, MAY_NORMALISE);		
+		return new SplitEntryImpl<Object>(this, key, EntryTypeSpec.OBJECT);		
 	}
 	
 	@Override
@@ -355,66 +788,65 @@ final class DocumentImpl implements Document {
 			return entry;
 		}
 		else {
-			return typedSplitEntry(key, memberType);
+			return typedSplitEntry(key, EntryTypeSpec.forItemType(memberType));
 		}		
 	}
 	
-	private <T> SplitEntry<T> typedSplitEntry(String key, Class<T> memberType) {		
-		return new SplitEntryImpl<T>(this, key, memberType, DONT_NORMALISE);
+	private <T> SplitEntry<T> typedSplitEntry(String key, EntryTypeSpec memberTypeSpec) {		
+		return new SplitEntryImpl<T>(this, key, memberTypeSpec);
 	}
 	
 	@Override
 	public SplitEntry<String> stringsSplitEntry(String key) {	
-		return typedSplitEntry(key, String.class);
+		return typedSplitEntry(key, EntryTypeSpec.STRING);
 	}
 	
 	
 	@Override
 	public SplitEntry<Boolean> booleansSplitEntry(String key) {
-		return typedSplitEntry(key, Boolean.class);
+		return typedSplitEntry(key, EntryTypeSpec.BOOLEAN);
 	}
 	
 	
 	@Override
 	public SplitEntry<Integer> intsSplitEntry(String key) {
-		return typedSplitEntry(key, Integer.class);
+		return typedSplitEntry(key, EntryTypeSpec.INTEGER);
 	}
 	
 	@Override
 	public SplitEntry<Long> longsSplitEntry(String key) {
-		return typedSplitEntry(key, Long.class);
+		return typedSplitEntry(key, EntryTypeSpec.LONG);
 	}
 	
 	@Override
 	public SplitEntry<Short> shortsSplitEntry(String key) {
-		return typedSplitEntry(key, Short.class);
+		return typedSplitEntry(key, EntryTypeSpec.SHORT);
 	}
 	
 	@Override
 	public SplitEntry<Float> floatsSplitEntry(String key) {
-		return typedSplitEntry(key, Float.class);
+		return typedSplitEntry(key, EntryTypeSpec.FLOAT);
 	}
 	
 	
 	@Override
 	public SplitEntry<Double> doublesSplitEntry(String key) {
-		return typedSplitEntry(key, Double.class);
+		return typedSplitEntry(key, EntryTypeSpec.DOUBLE);
 	}
 	
 	@Override
 	public SplitEntry<BigDecimal> bigDecimalsSplitEntry(String key) {
-		return typedSplitEntry(key, BigDecimal.class);
+		return typedSplitEntry(key, EntryTypeSpec.BIG_DECIMAL);
 	}
 	
 	@Override
 	public SplitEntry<Date> legacyDatesSplitEntry(String key) {
-		return typedSplitEntry(key, Date.class);
+		return typedSplitEntry(key, EntryTypeSpec.DATE);
 	}
 	
 	@Override
 	public SplitEntry<Document> docsSplitEntry(String key) {
-		return new SplitEntryImpl<Document>(this, key, TypeDescriptor.valueOf(Document.class),
-				TypeDescriptor.valueOf(IData.class), DONT_NORMALISE);
+		return new SplitEntryImpl<Document>(this, key, EntryTypeSpec.DOCUMENT);
 	}
 	
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+import com.wm.data.IData;
+
+/**
+ * Read-only list of documents backed by an {@link IData} array.
+ * <p>
+ * Elements are converted to {@link Document} on first access and the result is
+ * cached, so only the elements that are actually read are wrapped. Changes to
+ * the backing array are visible through the list, except for elements that
+ * have already been wrapped.
+ */
+final class DocumentListView extends AbstractList<Document> implements RandomAccess {
+
+	private static final TypeDescriptor IDATA_TYPE = TypeDescriptor.valueOf(IData.class);
+	private static final TypeDescriptor DOCUMENT_TYPE = TypeDescriptor.valueOf(Document.class);
+
+	private final IData[] array;
+	private final ConversionService conversionService;
+	// Lazily created; an element is null until the corresponding IData is wrapped
+	private Document[] wrappers;
+
+	DocumentListView(IData[] array, ConversionService conversionService) {
+		this.array = array;
+		this.conversionService = conversionService;
+	}
+
+	@Override
+	public Document get(int index) {
+		IData idata = array[index];
+		if (idata == null) {
+			return null;
+		}
+
+		if (wrappers == null) {
+			wrappers = new Document[array.length];
+		}
+		Document wrapper = wrappers[index];
+		if (wrapper == null) {
+			wrapper = (Document) conversionService.convert(idata, IDATA_TYPE, DOCUMENT_TYPE);
+			wrappers[index] = wrapper;
+		}
+		return wrapper;
+	}
+
+	@Override
+	public int size() {
+		return array.length;
+	}
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * A compiled path to a nested entry, such as {@code "order/lines[2]/product"}.
+ * <p>
+ * A path is a sequence of keys separated by {@code '/'}. A key may be
+ * followed by a zero-based index in square brackets to select an element of
+ * an array value (e.g. an {@code IData[]}). All steps but the last one must
+ * resolve to a document. For keys shared by several entries, the first entry
+ * is used.
+ * <p>
+ * Compile a path once with {@link #compile(String)} and reuse it with
+ * {@link Document#path(DocumentPath, Class)}. Instances are immutable and
+ * can be shared between threads.
+ */
+public final class DocumentPath {
+
+	/**
+	 * A single step of the path: a key and an optional index.
+	 */
+	static final class Step {
+		private final String key;
+		// Negative if the step has no index
+		private final int index;
+
+		private Step(String key, int index) {
+			this.key = key;
+			this.index = index;
+		}
+
+		String getKey() {
+			return key;
+		}
+
+		boolean hasIndex() {
+			return index >= 0;
+		}
+
+		int getIndex() {
+			return index;
+		}
+	}
+
+	private final String expression;
+	private final List<Step> steps;
+
+	private DocumentPath(String expression, List<Step> steps) {
+		this.expression = expression;
+		this.steps = steps;
+	}
+
+	/**
+	 * Compiles a path expression.
+	 * 
+	 * @param expression
+	 *            keys separated by {@code '/'}, each optionally followed by an
+	 *            index, e.g. {@code "a/b/c[3]/d"}
+	 * @return the compiled path
+	 * @throws IllegalArgumentException
+	 *             if the expression is not valid
+	 */
+	public static DocumentPath compile(String expression) {
+		Preconditions.checkHasLength(expression, "Path expression cannot be null or empty");
+
+		List<Step> steps = new ArrayList<Step>();
+		int start = 0;
+		while (start <= expression.length()) {
+			int end = expression.indexOf('/', start);
+			if (end < 0) {
+				end = expression.length();
+			}
+			steps.add(parseStep(expression, start, end));
+			start = end + 1;
+		}
+		return new DocumentPath(expression, Collections.unmodifiableList(steps));
+	}
+
+	private static Step parseStep(String expression, int start, int end) {
+		String segment = expression.substring(start, end);
+		int index = -1;
+		String key = segment;
+
+		if (segment.endsWith("]")) {
+			int open = segment.lastIndexOf('[');
+			String indexText = (open >= 0) ? segment.substring(open + 1, segment.length() - 1) : "";
+			if (indexText.length() == 0 || indexText.length() > 9 || !isDigits(indexText)) {
+				throw new IllegalArgumentException(
+						"Invalid index in segment '" + segment + "' of path '" + expression + "'");
+			}
+			index = Integer.parseInt(indexText);
+			key = segment.substring(0, open);
+		}
+
+		if (key.length() == 0) {
+			throw new IllegalArgumentException("Empty key in path '" + expression + "'");
+		}
+		return new Step(key, index);
+	}
+
+	private static boolean isDigits(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	List<Step> getSteps() {
+		return steps;
+	}
+
+	/**
+	 * Returns the expression the path was compiled from.
+	 * 
+	 * @return the path expression
+	 */
+	public String getExpression() {
+		return expression;
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.List;
+
+/**
+ * A fixed set of fields, declared once, that are read from and written to
+ * documents as a whole.
+ * <p>
+ * Reading the same fields one by one with entries (e.g.
+ * {@link Document#entry(String, Class)}) positions a cursor per field. A
+ * schema retrieves all its fields in a single pass over the document and
+ * writes them back in another one. Use it when the same fields are accessed
+ * on every invocation, as is common in services that read their inputs from
+ * the pipeline:
+ * 
+ * <pre>
+ * private static final DocumentSchemaBuilder BUILDER = new DocumentSchemaBuilder();
+ * private static final SchemaField&lt;String&gt; NAME = BUILDER.addRequiredField("name", String.class);
+ * private static final SchemaField&lt;Integer&gt; AGE = BUILDER.addOptionalField("age", Integer.class, 18);
+ * private static final DocumentSchema SCHEMA = BUILDER.build();
+ * 
+ * public void greet(IData pipeline) throws ServiceException {
+ * 	Document pipeDoc = Documents.wrap(pipeline);
+ * 	SchemaValues input = SCHEMA.read(pipeDoc);
+ * 	String greeting = "Hello " + input.get(NAME) + ", age " + input.get(AGE);
+ * 	pipeDoc.stringEntry("greeting").put(greeting);
+ * }
+ * </pre>
+ * <p>
+ * Fields follow the same rules as the equivalent entries: values are converted
+ * to the field type on retrieval and, as with unit entries, only the first
+ * entry with the key is considered.
+ * <p>
+ * Instances are immutable and thread-safe.
+ * 
+ * @see DocumentSchemaBuilder
+ */
+public interface DocumentSchema {
+
+	/**
+	 * Returns the fields in the order they were declared.
+	 * 
+	 * @return an unmodifiable list of fields
+	 */
+	List<SchemaField<?>> getFields();
+
+	/**
+	 * Creates an instance with no assigned fields, e.g. to populate it and
+	 * write it to a document.
+	 * 
+	 * @return new values instance for this schema
+	 */
+	SchemaValues newValues();
+
+	/**
+	 * Retrieves the values of all fields from the document.
+	 * <p>
+	 * The value of each field is the same that would be returned by
+	 * {@link ItemEntry#getVal()} for required fields and by
+	 * {@link ItemEntry#getValOrDefault(Object, NullValHandling)} for optional
+	 * ones.
+	 * 
+	 * @param document
+	 *            document to read from
+	 * @return the values read
+	 * @throws InexistentEntryException
+	 *             if there's no entry for a required field
+	 * @throws UnexpectedEntryValueException
+	 *             if an optional field configured with
+	 *             {@link NullValHandling#FAIL} has a null value
+	 */
+	SchemaValues read(Document document) throws InexistentEntryException, UnexpectedEntryValueException;
+
+	/**
+	 * Writes the assigned fields to the document. Fields that aren't assigned
+	 * are left untouched.
+	 * <p>
+	 * For each field, the result is the same as invoking
+	 * {@link ItemEntry#put(Object)}: the value of the first entry with the key
+	 * is replaced or, if there's no such entry, a new one is added at the end
+	 * of the document.
+	 * 
+	 * @param document
+	 *            document to write to
+	 * @param values
+	 *            values created by this schema
+	 * @throws IllegalArgumentException
+	 *             if the values were created by a different schema
+	 */
+	void write(Document document, SchemaValues values);
+}
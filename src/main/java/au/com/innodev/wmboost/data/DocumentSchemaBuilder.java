@@ -0,0 +1,129 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * Builds a {@link DocumentSchema}.
+ * <p>
+ * Each <em>add</em> method declares a field and returns a handle to access its
+ * value in {@link SchemaValues}. Field types follow the same rules as
+ * {@link Document#entry(String, Class)}. In particular, collection types (e.g.
+ * {@code List.class}) are treated as {@link Document#collectionEntry(String)}
+ * does.
+ * <p>
+ * A builder builds a single schema: fields can't be added once
+ * {@link #build()} has been invoked.
+ */
+public class DocumentSchemaBuilder {
+
+	private final List<SchemaFieldImpl<?>> fields = new ArrayList<SchemaFieldImpl<?>>();
+	private final Set<String> keys = new HashSet<String>();
+	private boolean built = false;
+
+	/**
+	 * Declares a field whose entry must exist when reading values.
+	 * 
+	 * @param key
+	 *            entry key
+	 * @param type
+	 *            type to treat the entry value as
+	 * @return the declared field
+	 */
+	public <T> SchemaField<T> addRequiredField(String key, Class<T> type) {
+		return addField(key, type, true, null, NullValHandling.RETURN_NULL);
+	}
+
+	/**
+	 * Declares a field whose value is {@code null} if its entry doesn't exist
+	 * or has a null value.
+	 * 
+	 * @param key
+	 *            entry key
+	 * @param type
+	 *            type to treat the entry value as
+	 * @return the declared field
+	 */
+	public <T> SchemaField<T> addOptionalField(String key, Class<T> type) {
+		return addOptionalField(key, type, null);
+	}
+
+	/**
+	 * Declares a field whose value is {@code defaultValue} if its entry doesn't
+	 * exist or has a null value.
+	 * 
+	 * @param key
+	 *            entry key
+	 * @param type
+	 *            type to treat the entry value as
+	 * @param defaultValue
+	 *            value to use if the entry doesn't exist or has a null value
+	 * @return the declared field
+	 */
+	public <T> SchemaField<T> addOptionalField(String key, Class<T> type, T defaultValue) {
+		return addOptionalField(key, type, defaultValue, NullValHandling.RETURN_DEFAULT);
+	}
+
+	/**
+	 * Declares a field whose value is {@code defaultValue} if its entry doesn't
+	 * exist. {@code nullValHandling} specifies the behaviour if the entry has a
+	 * null value.
+	 * 
+	 * @param key
+	 *            entry key
+	 * @param type
+	 *            type to treat the entry value as
+	 * @param defaultValue
+	 *            value to use if the entry doesn't exist
+	 * @param nullValHandling
+	 *            behaviour if the entry has a null value
+	 * @return the declared field
+	 */
+	public <T> SchemaField<T> addOptionalField(String key, Class<T> type, T defaultValue,
+			NullValHandling nullValHandling) {
+		return addField(key, type, false, defaultValue, nullValHandling);
+	}
+
+	private <T> SchemaField<T> addField(String key, Class<T> type, boolean required, T defaultValue,
+			NullValHandling nullValHandling) {
+		Preconditions.checkNotNull(type, "Field type cannot be null");
+		if (built) {
+			throw new IllegalStateException("Unable to add field '" + key + "'. The schema has already been built");
+		}
+
+		SchemaFieldImpl<T> field = new SchemaFieldImpl<T>(key, type, required, defaultValue, nullValHandling,
+				fields.size());
+		if (!keys.add(key)) {
+			throw new IllegalArgumentException("A field with key '" + key + "' was already declared");
+		}
+		fields.add(field);
+		return field;
+	}
+
+	public DocumentSchema build() {
+		Preconditions.checkNotEmpty(fields, "At least one field must be declared");
+
+		built = true;
+		return new DocumentSchemaImpl(fields);
+	}
+
+}
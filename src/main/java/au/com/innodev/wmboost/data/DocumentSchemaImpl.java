@@ -0,0 +1,180 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.convert.ConversionService;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * <p>Implementation of {@link DocumentSchema}.
+ * <p>
+ * Documents created by this library are accessed directly with a single cursor
+ * per read or write. Any other {@link Document} implementation is accessed
+ * through its entries.
+ */
+final class DocumentSchemaImpl implements DocumentSchema {
+
+	private final SchemaFieldImpl<?>[] fields;
+	private final String[] keys;
+	private final List<SchemaField<?>> fieldList;
+	private final Map<String, Integer> indexByKey;
+
+	DocumentSchemaImpl(List<SchemaFieldImpl<?>> fields) {
+		this.fields = fields.toArray(new SchemaFieldImpl<?>[fields.size()]);
+		this.fieldList = Collections.unmodifiableList(new ArrayList<SchemaField<?>>(fields));
+
+		this.keys = new String[this.fields.length];
+		this.indexByKey = new HashMap<String, Integer>();
+		for (int i = 0; i < this.fields.length; i++) {
+			keys[i] = this.fields[i].getKey();
+			indexByKey.put(keys[i], i);
+		}
+	}
+
+	@Override
+	public List<SchemaField<?>> getFields() {
+		return fieldList;
+	}
+
+	int getFieldCount() {
+		return fields.length;
+	}
+
+	int indexOf(SchemaField<?> field) {
+		Preconditions.checkNotNull(field, "Field cannot be null");
+
+		if (field instanceof SchemaFieldImpl) {
+			int index = ((SchemaFieldImpl<?>) field).getIndex();
+			if (index < fields.length && fields[index] == field) {
+				return index;
+			}
+		}
+		throw new IllegalArgumentException("Field '" + field.getKey() + "' is not declared in this schema");
+	}
+
+	@Override
+	public SchemaValues newValues() {
+		return new SchemaValuesImpl(this);
+	}
+
+	@Override
+	public SchemaValues read(Document document) throws InexistentEntryException, UnexpectedEntryValueException {
+		Preconditions.checkNotNull(document, "Document cannot be null");
+
+		SchemaValuesImpl values = new SchemaValuesImpl(this);
+		if (document instanceof DocumentImpl) {
+			readInSinglePass((DocumentImpl) document, values);
+		} else {
+			for (int i = 0; i < fields.length; i++) {
+				readWithEntry(document, fields[i], values);
+			}
+		}
+		return values;
+	}
+
+	private void readInSinglePass(DocumentImpl document, SchemaValuesImpl values) {
+		Object[] rawValues = document.lookupValues(indexByKey);
+
+		ConversionService conversionService = document.getInternalConversionService();
+		for (int i = 0; i < fields.length; i++) {
+			SchemaFieldImpl<?> field = fields[i];
+			if (rawValues[i] != DocumentImpl.ABSENT) {
+				EntryTypeSpec typeSpec = field.getTypeSpec();
+				Object value = EntryUtil.convertForGet(rawValues[i], typeSpec.getAccessorType(),
+						typeSpec.getNormaliseOption(), field.getKey(), conversionService);
+				values.setRead(i, field.applyNullHandling(value), true);
+			} else if (field.isRequired()) {
+				throw newInexistentEntryException(field);
+			} else {
+				values.setRead(i, field.getDefaultValue(), false);
+			}
+		}
+	}
+
+	private <T> void readWithEntry(Document document, SchemaFieldImpl<T> field, SchemaValuesImpl values) {
+		ItemEntry<T> entry = document.entry(field.getKey(), field.getType());
+		int index = field.getIndex();
+		if (entry.isAssigned()) {
+			T value = field.isRequired() ? entry.getVal()
+					: entry.getValOrDefault(field.getDefaultValue(), field.getNullValHandling());
+			values.setRead(index, value, true);
+		} else if (field.isRequired()) {
+			throw newInexistentEntryException(field);
+		} else {
+			values.setRead(index, field.getDefaultValue(), false);
+		}
+	}
+
+	private static InexistentEntryException newInexistentEntryException(SchemaField<?> field) {
+		return new InexistentEntryException(
+				"Unable to retrieve value for key '" + field.getKey() + "'. Entry doesn't exist in document");
+	}
+
+	@Override
+	public void write(Document document, SchemaValues values) {
+		Preconditions.checkNotNull(document, "Document cannot be null");
+		Preconditions.checkNotNull(values, "Values cannot be null");
+		if (!(values instanceof SchemaValuesImpl) || ((SchemaValuesImpl) values).getSchema() != this) {
+			throw new IllegalArgumentException("Values were not created by this schema");
+		}
+		SchemaValuesImpl valuesImpl = (SchemaValuesImpl) values;
+
+		if (document instanceof DocumentImpl) {
+			writeInSinglePass((DocumentImpl) document, valuesImpl);
+		} else {
+			for (int i = 0; i < fields.length; i++) {
+				if (valuesImpl.isAssigned(i)) {
+					writeWithEntry(document, fields[i], valuesImpl.getValue(i));
+				}
+			}
+		}
+	}
+
+	private void writeInSinglePass(DocumentImpl document, SchemaValuesImpl values) {
+		// Values are converted before the document is modified so that a
+		// conversion failure leaves it untouched
+		ConversionService conversionService = document.getInternalConversionService();
+		Object[] valuesToPut = new Object[fields.length];
+		boolean[] pending = new boolean[fields.length];
+		int remaining = 0;
+		for (int i = 0; i < fields.length; i++) {
+			if (values.isAssigned(i)) {
+				EntryTypeSpec typeSpec = fields[i].getTypeSpec();
+				valuesToPut[i] = EntryUtil.convertForPut(values.getValue(i), typeSpec.getMutatorType(),
+						typeSpec.getNormaliseOption(), fields[i].getKey(), conversionService);
+				pending[i] = true;
+				remaining++;
+			}
+		}
+
+		if (remaining > 0) {
+			document.putValues(indexByKey, keys, valuesToPut, pending, remaining);
+		}
+	}
+
+	private <T> void writeWithEntry(Document document, SchemaFieldImpl<T> field, Object value) {
+		@SuppressWarnings("unchecked")
+		T typedValue = (T) value;
+		document.entry(field.getKey(), field.getType()).put(typedValue);
+	}
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * Implementation of {@link DoubleArrayEntry}.
+ */
+class DoubleArrayEntryImpl extends PrimitiveArrayEntryImpl<double[]> implements DoubleArrayEntry {
+
+	public DoubleArrayEntryImpl(DocumentImpl document, String key) {
+		super(document, key, EntryTypeSpec.DOUBLE_ARRAY, double[].class, Double.class);
+	}
+
+	@Override
+	protected double[] newArray(int length) {
+		return new double[length];
+	}
+
+	@Override
+	protected boolean setDirect(double[] array, int index, Object element) {
+		if (element instanceof Number) {
+			array[index] = ((Number) element).doubleValue();
+			return true;
+		}
+		else if (element instanceof String && isPlainDecimal((String) element)) {
+			array[index] = Double.parseDouble((String) element);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	protected void setBoxed(double[] array, int index, Object boxed) {
+		array[index] = (Double) boxed;
+	}
+
+	@Override
+	protected Object getBoxed(double[] array, int index) {
+		return array[index];
+	}
+}
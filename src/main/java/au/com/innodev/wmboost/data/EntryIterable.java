@@ -15,38 +15,86 @@
  */
 package au.com.innodev.wmboost.data;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import au.com.innodev.wmboost.data.internal.Preconditions;
 
 /**
  * <p>Implementation of {@link EntryIterableResource}
+ * <p>
+ * Only iterators that still hold a cursor are retained: iterators release
+ * their cursor and deregister themselves once they're exhausted.
  */
 class EntryIterable implements EntryIterableResource {
 
-	private final List<EntryIterator> iterators;
+	private final Set<EntryIterator> openIterators;
 	private final DocumentImpl document;
+	private final EntryIterationMode mode;
+	// May be null, in which case leak detection is disabled
+	private final ResourceLeakDetector.Tracker leakTracker;
 
 	EntryIterable(DocumentImpl document) {
+		this(document, EntryIterationMode.NORMALISED);
+	}
+
+	EntryIterable(DocumentImpl document, EntryIterationMode mode) {
+		this(document, mode, ResourceLeakDetector.getDefault());
+	}
+
+	EntryIterable(DocumentImpl document, ResourceLeakDetector leakDetector) {
+		this(document, EntryIterationMode.NORMALISED, leakDetector);
+	}
+
+	EntryIterable(DocumentImpl document, EntryIterationMode mode, ResourceLeakDetector leakDetector) {
 		Preconditions.checkNotNull(document, "document cannot be null");
 		this.document = document;
-		this.iterators = new LinkedList<EntryIterator>();
+		this.mode = Preconditions.checkNotNull(mode, "mode cannot be null");
+		this.openIterators = Collections.newSetFromMap(new IdentityHashMap<EntryIterator, Boolean>());
+		this.leakTracker = leakDetector.track(this);
 	}
 	
 	@Override
 	public Iterator<KeyValue> iterator() {		
-		EntryIterator iterator = new EntryIterator(document);
-		iterators.add(iterator);
+		EntryIterator iterator = new EntryIterator(document, mode, this);
+		openIterators.add(iterator);
+		updateLeakTracker();
 		return iterator;
 	}
 
+	/**
+	 * Invoked by an iterator once it has released its cursor.
+	 */
+	void iteratorReleased(EntryIterator iterator) {
+		openIterators.remove(iterator);
+		updateLeakTracker();
+	}
+
+	int getOpenIteratorCount() {
+		return openIterators.size();
+	}
+
 	@Override
 	public void close() {
+		// Copied as iterators deregister themselves when closed
+		List<EntryIterator> iterators = new ArrayList<EntryIterator>(openIterators);
+		openIterators.clear();
 		for (EntryIterator iterator : iterators) {
 			iterator.close();
 		}
+		if (leakTracker != null) {
+			leakTracker.close();
+		}
+	}
+
+	private void updateLeakTracker() {
+		if (leakTracker != null) {
+			leakTracker.setOpen(!openIterators.isEmpty());
+		}
 	}
 
 }
@@ -23,6 +23,12 @@ import java.io.Closeable;
  * {@link Closeable}).
  * <p>In order to release internal resources once the iteration
  * is over, invoke the {@link #close() method}.
+ * <p>
+ * Iterators release their resources as soon as they're exhausted, so closing
+ * is only strictly needed when an iteration is abandoned halfway. Resources
+ * that are garbage collected without being closed are logged as warnings
+ * when the {@code wmboost.data.leakDetection} system property is set to
+ * {@code true}.
  */
 public interface EntryIterableResource extends Iterable<KeyValue>, Closeable {
 	void close();
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * How values are returned when iterating over document entries with
+ * {@link Document#getAllEntries(EntryIterationMode)}.
+ */
+public enum EntryIterationMode {
+
+	/**
+	 * Values are normalised as they're iterated over, the same way as with
+	 * {@link Document#entry(String)}: nested {@code IData} instances are
+	 * returned as {@link Document} instances and arrays as lists. This is the
+	 * mode used by {@link Document#getAllEntries()}.
+	 */
+	NORMALISED,
+
+	/**
+	 * Values are normalised the first time {@link KeyValue#getValue()} is
+	 * invoked, so entries whose value isn't read don't incur the cost.
+	 * Values read after the document has been modified still correspond to
+	 * the document when the entry was iterated over.
+	 */
+	LAZY,
+
+	/**
+	 * Values are returned as stored in the underlying {@code IData}, without
+	 * normalisation. Nested {@code IData} instances and arrays are shared
+	 * with the document.
+	 */
+	RAW
+}
@@ -26,37 +26,68 @@ import com.wm.data.IDataCursor;
 import au.com.innodev.wmboost.data.internal.Preconditions;
 
 /**
- * An entry iterator
+ * An entry iterator. The cursor is released as soon as the iterator is
+ * exhausted.
  */
 class EntryIterator implements Iterator<KeyValue>, Closeable {
 
 	private final ConversionService conversionService;
+	private final EntryIterationMode mode;
+	// May be null
+	private final EntryIterable owner;
 	private IDataCursor cursor;
+	private boolean exhausted = false;
 	
 	EntryIterator(DocumentImpl document) {
+		this(document, EntryIterationMode.NORMALISED, null);
+	}
+
+	EntryIterator(DocumentImpl document, EntryIterationMode mode, EntryIterable owner) {
 		Preconditions.checkNotNull(document, "document cannot be null");
-		this.cursor = document.getIData().getCursor();
+		this.mode = Preconditions.checkNotNull(mode, "mode cannot be null");
+		this.cursor = document.getReadableIData().getCursor();
 		this.conversionService =  document.getInternalConversionService();
+		this.owner = owner;
 	}
 
 	@Override
 	public boolean hasNext() {
+		if (exhausted) {
+			return false;
+		}
 		ensureNotClosed();
-		return cursor.hasMoreData();
+		boolean hasMore = cursor.hasMoreData();
+		if (!hasMore) {
+			exhausted = true;
+			close();
+		}
+		return hasMore;
 	}
 	
 	@Override
 	public KeyValue next() {
+		if (exhausted) {
+			throw new NoSuchElementException("Iterator had already reached last element");
+		}
 		ensureNotClosed();
 		boolean lastNotAlreadyVisited = cursor.next();
 		
 		if (! lastNotAlreadyVisited) {
+			exhausted = true;
+			close();
 			throw new NoSuchElementException("Iterator had already reached last element");
 		}
 		
 		String key = cursor.getKey();
-		Object value = EntryUtil.normaliseValueForGet(cursor.getValue(), conversionService);
-		return new ImmutableKeyValue(key, value);
+		Object rawValue = cursor.getValue();
+		switch (mode) {
+		case RAW:
+			return new ImmutableKeyValue(key, rawValue);
+		case LAZY:
+			return new LazyKeyValue(key, rawValue, conversionService);
+		default:
+			return new ImmutableKeyValue(key, EntryUtil.normaliseValueForGet(rawValue, conversionService));
+		}
 	}
 
 	@Override
@@ -69,6 +100,9 @@ class EntryIterator implements Iterator<KeyValue>, Closeable {
 		if (cursor != null) {
 			cursor.destroy();
 			cursor = null;
+			if (owner != null) {
+				owner.iteratorReleased(this);
+			}
 		}
 		
 	}
@@ -0,0 +1,184 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import static au.com.innodev.wmboost.data.NormaliseOption.DONT_NORMALISE;
+import static au.com.innodev.wmboost.data.NormaliseOption.MAY_NORMALISE;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+import com.wm.data.IData;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * Describes how the value of an entry is accessed and mutated: the accessor
+ * type, the optional mutator type and the normalisation option.
+ * <p>
+ * A description doesn't depend on the entry key nor on the document, so it's
+ * immutable and shared by all entries of the same kind. Descriptions for the
+ * typed factory methods in {@link Document} are precomputed.
+ */
+final class EntryTypeSpec {
+
+	/* ---------- Item entries (also used for split entry members) ---------- */
+	static final EntryTypeSpec OBJECT = item(Object.class, MAY_NORMALISE);
+	static final EntryTypeSpec DOCUMENT = new EntryTypeSpec(Document.class, TypeDescriptor.valueOf(Document.class),
+			TypeDescriptor.valueOf(IData.class), DONT_NORMALISE);
+	static final EntryTypeSpec STRING = item(String.class, DONT_NORMALISE);
+	static final EntryTypeSpec BOOLEAN = item(Boolean.class, DONT_NORMALISE);
+	static final EntryTypeSpec INTEGER = item(Integer.class, DONT_NORMALISE);
+	static final EntryTypeSpec LONG = item(Long.class, DONT_NORMALISE);
+	static final EntryTypeSpec SHORT = item(Short.class, DONT_NORMALISE);
+	static final EntryTypeSpec FLOAT = item(Float.class, DONT_NORMALISE);
+	static final EntryTypeSpec DOUBLE = item(Double.class, DONT_NORMALISE);
+	static final EntryTypeSpec BIG_DECIMAL = item(BigDecimal.class, DONT_NORMALISE);
+	static final EntryTypeSpec DATE = item(Date.class, DONT_NORMALISE);
+
+	/* ---------- Collection entries ---------- */
+	static final EntryTypeSpec OBJECTS = collection(Object.class, Object.class, MAY_NORMALISE);
+	static final EntryTypeSpec DOCUMENTS = collection(Document.class, IData.class, DONT_NORMALISE);
+	static final EntryTypeSpec STRINGS = collection(String.class);
+	static final EntryTypeSpec BOOLEANS = collection(Boolean.class);
+	static final EntryTypeSpec INTEGERS = collection(Integer.class);
+	static final EntryTypeSpec LONGS = collection(Long.class);
+	static final EntryTypeSpec SHORTS = collection(Short.class);
+	static final EntryTypeSpec FLOATS = collection(Float.class);
+	static final EntryTypeSpec DOUBLES = collection(Double.class);
+	static final EntryTypeSpec BIG_DECIMALS = collection(BigDecimal.class);
+	static final EntryTypeSpec DATES = collection(Date.class);
+
+	/* ---------- Primitive array entries ---------- */
+	static final EntryTypeSpec INT_ARRAY = item(int[].class, DONT_NORMALISE);
+	static final EntryTypeSpec LONG_ARRAY = item(long[].class, DONT_NORMALISE);
+	static final EntryTypeSpec DOUBLE_ARRAY = item(double[].class, DONT_NORMALISE);
+
+	private static final EntryTypeSpec[] PRECOMPUTED_ITEMS = { STRING, BOOLEAN, INTEGER, LONG, SHORT, FLOAT, DOUBLE,
+			BIG_DECIMAL, DATE };
+	private static final EntryTypeSpec[] PRECOMPUTED_COLLECTIONS = { STRINGS, BOOLEANS, INTEGERS, LONGS, SHORTS,
+			FLOATS, DOUBLES, BIG_DECIMALS, DATES };
+
+	// Item type for item entries; element type for collection entries
+	private final Class<?> valueType;
+	private final TypeDescriptor accessorType;
+	// May be null, in which case no pre-conversion is done for 'put'
+	private final TypeDescriptor mutatorType;
+	private final NormaliseOption normaliseOption;
+
+	private EntryTypeSpec(Class<?> valueType, TypeDescriptor accessorType, TypeDescriptor mutatorType,
+			NormaliseOption normaliseOption) {
+		this.valueType = Preconditions.checkNotNull(valueType);
+		this.accessorType = Preconditions.checkNotNull(accessorType);
+		this.mutatorType = mutatorType;
+		this.normaliseOption = Preconditions.checkNotNull(normaliseOption);
+	}
+
+	private static EntryTypeSpec item(Class<?> type, NormaliseOption normaliseOption) {
+		return new EntryTypeSpec(type, TypeDescriptor.valueOf(type), null, normaliseOption);
+	}
+
+	private static EntryTypeSpec collection(Class<?> elementType) {
+		return collection(elementType, elementType, DONT_NORMALISE);
+	}
+
+	private static EntryTypeSpec collection(Class<?> accessorElementType, Class<?> mutatorElementType,
+			NormaliseOption normaliseOption) {
+		TypeDescriptor listAccessorType = TypeDescriptor.collection(List.class,
+				TypeDescriptor.valueOf(accessorElementType));
+		TypeDescriptor arrayMutatorType = TypeDescriptor.array(TypeDescriptor.valueOf(mutatorElementType));
+		return new EntryTypeSpec(accessorElementType, listAccessorType, arrayMutatorType, normaliseOption);
+	}
+
+	/**
+	 * Returns the description of an item (or split entry member) whose value is
+	 * treated as {@code type}, without normalisation. A precomputed instance is
+	 * returned for common types.
+	 *
+	 * @param type
+	 *            value type
+	 * @return the entry type description
+	 */
+	static EntryTypeSpec forItemType(Class<?> type) {
+		EntryTypeSpec precomputed = findPrecomputed(type, PRECOMPUTED_ITEMS);
+		return (precomputed != null) ? precomputed : item(type, DONT_NORMALISE);
+	}
+
+	/**
+	 * Returns the description of a collection entry whose elements are treated
+	 * as {@code elementType}, without normalisation. A precomputed instance is
+	 * returned for common types.
+	 *
+	 * @param elementType
+	 *            element type
+	 * @return the entry type description
+	 */
+	static EntryTypeSpec forCollectionType(Class<?> elementType) {
+		EntryTypeSpec precomputed = findPrecomputed(elementType, PRECOMPUTED_COLLECTIONS);
+		return (precomputed != null) ? precomputed : collection(elementType);
+	}
+
+	/**
+	 * Returns the description of the entry returned by
+	 * {@link Document#entry(String, Class)} for a given
+	 * {@code type}: documents, plain objects and collections are normalised
+	 * the same way as in {@link Document#docEntry(String)},
+	 * {@link Document#entry(String)} and {@link Document#collectionEntry(String)}.
+	 *
+	 * @param type
+	 *            value type
+	 * @return the entry type description
+	 */
+	static EntryTypeSpec forEntryType(Class<?> type) {
+		if (Document.class.isAssignableFrom(type)) {
+			return DOCUMENT;
+		}
+		else if (Object.class.equals(type)) {
+			return OBJECT;
+		}
+		else if (Collection.class.isAssignableFrom(type)) {
+			return OBJECTS;
+		}
+		else {
+			return forItemType(type);
+		}
+	}
+
+	private static EntryTypeSpec findPrecomputed(Class<?> type, EntryTypeSpec[] candidates) {
+		for (EntryTypeSpec candidate : candidates) {
+			if (candidate.valueType == type) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	TypeDescriptor getAccessorType() {
+		return accessorType;
+	}
+
+	TypeDescriptor getMutatorType() {
+		return mutatorType;
+	}
+
+	NormaliseOption getNormaliseOption() {
+		return normaliseOption;
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * The values of a set of unit entries, retrieved at once by
+ * {@link Document#getValues(String...)}.
+ * <p>
+ * The type to treat each value as is specified on retrieval, following the same
+ * rules as {@link Document#entry(String, Class)}. The get methods behave like
+ * their {@link ItemEntry} counterparts.
+ * <p>
+ * Only the keys provided when the values were retrieved can be queried.
+ * Querying any other key throws an {@link IllegalArgumentException}.
+ */
+public interface EntryValues {
+
+	/**
+	 * Indicates whether there was an entry with the key.
+	 * 
+	 * @param key
+	 *            one of the retrieved keys
+	 * @return true if an entry with the key existed; false, otherwise
+	 * @see ItemEntry#isAssigned()
+	 */
+	boolean isAssigned(String key);
+
+	/**
+	 * Returns the value of an existing entry.
+	 * 
+	 * @param key
+	 *            one of the retrieved keys
+	 * @param type
+	 *            type to treat the entry value as
+	 * @return entry value, possibly {@code null}
+	 * @throws InexistentEntryException
+	 *             if there was no entry associated with the key
+	 * @see ItemEntry#getVal()
+	 */
+	<T> T getVal(String key, Class<T> type) throws InexistentEntryException;
+
+	/**
+	 * Returns the value of an entry or {@code null} if there was no entry
+	 * associated with the key.
+	 * 
+	 * @param key
+	 *            one of the retrieved keys
+	 * @param type
+	 *            type to treat the entry value as
+	 * @return entry value or {@code null}
+	 * @see ItemEntry#getValOrNull()
+	 */
+	<T> T getValOrNull(String key, Class<T> type);
+
+	/**
+	 * Returns the value of an entry or the default value if there was no entry
+	 * associated with the key or if its value was null.
+	 * 
+	 * @param key
+	 *            one of the retrieved keys
+	 * @param type
+	 *            type to treat the entry value as
+	 * @param defaultValue
+	 *            value to return if the entry doesn't exist or is null
+	 * @return entry value or the default value
+	 * @see ItemEntry#getValOrDefault(Object)
+	 */
+	<T> T getValOrDefault(String key, Class<T> type, T defaultValue);
+
+	/**
+	 * Returns the value of an entry or the default value if there was no entry
+	 * associated with the key. The behaviour when the value is null is
+	 * determined by {@code nullHandling}.
+	 * 
+	 * @param key
+	 *            one of the retrieved keys
+	 * @param type
+	 *            type to treat the entry value as
+	 * @param defaultValue
+	 *            value to return if the entry doesn't exist
+	 * @param nullHandling
+	 *            behaviour if the entry value is null
+	 * @return entry value or the default value
+	 * @throws UnexpectedEntryValueException
+	 *             if the value is null and {@code nullHandling} is
+	 *             {@link NullValHandling#FAIL}
+	 * @see ItemEntry#getValOrDefault(Object, NullValHandling)
+	 */
+	<T> T getValOrDefault(String key, Class<T> type, T defaultValue, NullValHandling nullHandling)
+			throws UnexpectedEntryValueException;
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.Map;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * <p>Implementation of {@link EntryValues}. Raw values are captured up front
+ * and converted on retrieval.
+ */
+final class EntryValuesImpl implements EntryValues {
+
+	private final DocumentImpl document;
+	private final Map<String, Integer> indexByKey;
+	// Contains DocumentImpl.ABSENT for keys without an entry
+	private final Object[] rawValues;
+
+	EntryValuesImpl(DocumentImpl document, Map<String, Integer> indexByKey, Object[] rawValues) {
+		this.document = document;
+		this.indexByKey = indexByKey;
+		this.rawValues = rawValues;
+	}
+
+	@Override
+	public boolean isAssigned(String key) {
+		return getRawValue(key) != DocumentImpl.ABSENT;
+	}
+
+	@Override
+	public <T> T getVal(String key, Class<T> type) throws InexistentEntryException {
+		Object rawValue = getRawValue(key);
+		if (rawValue == DocumentImpl.ABSENT) {
+			throw new InexistentEntryException(
+					"Unable to retrieve value for key '" + key + "'. Entry doesn't exist in document");
+		}
+		return convert(key, rawValue, type);
+	}
+
+	@Override
+	public <T> T getValOrNull(String key, Class<T> type) {
+		return getValOrDefault(key, type, null, NullValHandling.RETURN_DEFAULT);
+	}
+
+	@Override
+	public <T> T getValOrDefault(String key, Class<T> type, T defaultValue) {
+		return getValOrDefault(key, type, defaultValue, NullValHandling.RETURN_DEFAULT);
+	}
+
+	@Override
+	public <T> T getValOrDefault(String key, Class<T> type, T defaultValue, NullValHandling nullHandling)
+			throws UnexpectedEntryValueException {
+		Preconditions.checkNotNull(nullHandling, "null handling parameter was not set");
+		Object rawValue = getRawValue(key);
+		if (rawValue == DocumentImpl.ABSENT) {
+			return defaultValue;
+		}
+		T value = convert(key, rawValue, type);
+		return EntryUtil.applyValNullHandling(value, nullHandling, defaultValue, key);
+	}
+
+	private Object getRawValue(String key) {
+		Integer index = indexByKey.get(key);
+		if (index == null) {
+			throw new IllegalArgumentException("Key '" + key + "' was not among the retrieved keys");
+		}
+		return rawValues[index];
+	}
+
+	private <T> T convert(String key, Object rawValue, Class<T> type) {
+		Preconditions.checkNotNull(type, "Type cannot be null");
+		EntryTypeSpec typeSpec = EntryTypeSpec.forEntryType(type);
+
+		@SuppressWarnings("unchecked")
+		T value = (T) EntryUtil.convertForGet(rawValue, typeSpec.getAccessorType(), typeSpec.getNormaliseOption(),
+				key, document.getInternalConversionService());
+		return value;
+	}
+}
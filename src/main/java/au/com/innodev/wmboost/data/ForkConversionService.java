@@ -0,0 +1,80 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+
+import com.wm.data.IData;
+
+/**
+ * Conversion service of a fork. Nested IData values are wrapped as documents
+ * that share the copy-on-write state of the fork, so modifying them doesn't
+ * affect the base. Any other conversion is delegated.
+ */
+final class ForkConversionService implements ConversionService {
+
+	private final ConversionService delegate;
+	private final DocumentImpl fork;
+
+	ForkConversionService(ConversionService delegate, DocumentImpl fork) {
+		this.delegate = delegate;
+		this.fork = fork;
+	}
+
+	@Override
+	public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+		return delegate.canConvert(sourceType, targetType);
+	}
+
+	@Override
+	public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return delegate.canConvert(sourceType, targetType);
+	}
+
+	@Override
+	public <T> T convert(Object source, Class<T> targetType) {
+		if (source instanceof IData && Document.class.isAssignableFrom(targetType)) {
+			return targetType.cast(fork.wrapNested((IData) source));
+		}
+		return delegate.convert(source, targetType);
+	}
+
+	@Override
+	public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (source instanceof IData && !targetType.isArray() && !targetType.isCollection()
+				&& Document.class.isAssignableFrom(targetType.getObjectType())) {
+			return fork.wrapNested((IData) source);
+		}
+		if (source instanceof IData[] && isDocumentContainer(targetType)) {
+			IData[] iDatas = (IData[]) source;
+			Document[] documents = new Document[iDatas.length];
+			for (int i = 0; i < iDatas.length; i++) {
+				documents[i] = (iDatas[i] != null) ? fork.wrapNested(iDatas[i]) : null;
+			}
+			return delegate.convert(documents, TypeDescriptor.forObject(documents), targetType);
+		}
+		return delegate.convert(source, sourceType, targetType);
+	}
+
+	private static boolean isDocumentContainer(TypeDescriptor type) {
+		if (!type.isArray() && !type.isCollection()) {
+			return false;
+		}
+		TypeDescriptor elementType = type.getElementTypeDescriptor();
+		return elementType != null && Document.class.isAssignableFrom(elementType.getType());
+	}
+}
@@ -0,0 +1,301 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * Copy-on-write state of a fork or of a document nested in a fork.
+ * <p>
+ * Until it's materialised, the state reads the IData it was created from,
+ * which belongs to the base. On materialisation, a shallow copy is made. For a
+ * nested document, the parent is materialised first and the copy replaces the
+ * original in it, so a change to a nested document copies the path to it and
+ * nothing else.
+ * <p>
+ * The containers of a copy that still belong to the base (IData values,
+ * object arrays and the IData elements of those arrays) are tracked, so that
+ * they're copied before being modified. The states of nested documents are
+ * kept by their parent, so every wrapper of a nested document shares the same
+ * state.
+ */
+final class ForkState {
+
+	private final DirectIDataFactory idataFactory;
+	private final DocumentFactory documentFactory;
+	// Null for the top-level fork
+	private final ForkState parent;
+	private final IData original;
+	// Private copy, once materialised
+	private IData copy;
+	// Containers of the copy that are still shared with the base
+	private Set<Object> sharedValues;
+	// States of nested documents, by original IData and by copy
+	private Map<IData, ForkState> children;
+	// Whether no container is shared any longer, at any depth
+	private boolean isolated;
+
+	ForkState(IData base, DirectIDataFactory idataFactory, DocumentFactory documentFactory) {
+		this(base, idataFactory, documentFactory, null);
+	}
+
+	private ForkState(IData original, DirectIDataFactory idataFactory, DocumentFactory documentFactory,
+			ForkState parent) {
+		this.original = Preconditions.checkNotNull(original);
+		this.idataFactory = idataFactory;
+		this.documentFactory = documentFactory;
+		this.parent = parent;
+	}
+
+	/**
+	 * Returns the IData to read from. Before materialisation, it's shared with
+	 * the base.
+	 */
+	IData getIData() {
+		return (copy != null) ? copy : original;
+	}
+
+	/**
+	 * Returns the IData to modify the top-level entries of the document,
+	 * materialising it if necessary. Nested containers may still be shared.
+	 */
+	IData getWritableIData() {
+		materialise();
+		return copy;
+	}
+
+	/**
+	 * Returns an IData that can be freely modified by the caller: shared
+	 * containers at any depth are replaced by deep copies. The states of
+	 * nested documents are updated to read from the copies.
+	 */
+	IData isolate() {
+		isolate(new DocumentCopier(idataFactory, documentFactory));
+		return copy;
+	}
+
+	/**
+	 * Returns the state of a nested document of this one, or {@code null} if
+	 * the IData is owned by this fork (e.g. it was put after the fork was
+	 * created) and can be modified directly.
+	 * 
+	 * @param value
+	 *            IData value, or IData element of an array, read from this
+	 *            document
+	 */
+	ForkState childFor(IData value) {
+		ForkState child = (children != null) ? children.get(value) : null;
+		if (child != null) {
+			return child;
+		}
+		if (copy != null && !sharedValues.contains(value)) {
+			return null;
+		}
+
+		child = new ForkState(value, idataFactory, documentFactory, this);
+		if (children == null) {
+			children = new IdentityHashMap<IData, ForkState>();
+		}
+		children.put(value, child);
+		return child;
+	}
+
+	private void materialise() {
+		if (copy != null) {
+			return;
+		}
+
+		IData newCopy = shallowCopy(original);
+		if (parent != null) {
+			parent.replace(original, newCopy);
+			parent.children.put(newCopy, this);
+		}
+		copy = newCopy;
+		sharedValues = containersOf(newCopy);
+	}
+
+	/**
+	 * Replaces the occurrences of a shared IData, as a value or as an element
+	 * of an array, by its private copy. Shared arrays that contain it are
+	 * copied.
+	 */
+	private void replace(IData shared, IData replacement) {
+		materialise();
+
+		Map<Object[], Object[]> arrayCopies = new IdentityHashMap<Object[], Object[]>();
+		IDataCursor cursor = copy.getCursor();
+		try {
+			while (cursor.next()) {
+				Object value = cursor.getValue();
+				if (value == shared) {
+					cursor.setValue(replacement);
+				}
+				else if (value instanceof Object[] && contains((Object[]) value, shared)) {
+					Object[] array = (Object[]) value;
+					Object[] arrayCopy = arrayCopies.get(array);
+					if (arrayCopy == null) {
+						arrayCopy = sharedValues.contains(array) ? array.clone() : array;
+						arrayCopies.put(array, arrayCopy);
+					}
+					for (int i = 0; i < arrayCopy.length; i++) {
+						if (arrayCopy[i] == shared) {
+							arrayCopy[i] = replacement;
+						}
+					}
+					cursor.setValue(arrayCopy);
+				}
+			}
+		}
+		finally {
+			cursor.destroy();
+		}
+
+		sharedValues.remove(shared);
+		sharedValues.removeAll(arrayCopies.keySet());
+	}
+
+	private void isolate(DocumentCopier copier) {
+		if (isolated) {
+			return;
+		}
+		materialise();
+
+		IDataCursor cursor = copy.getCursor();
+		try {
+			while (cursor.next()) {
+				Object value = cursor.getValue();
+				if (sharedValues.contains(value)) {
+					cursor.setValue(copier.copyOf(value));
+				}
+				else if (value instanceof Object[]) {
+					Object[] array = (Object[]) value;
+					for (int i = 0; i < array.length; i++) {
+						if (sharedValues.contains(array[i])) {
+							array[i] = copier.copyOf(array[i]);
+						}
+						else {
+							isolateChild(array[i], copier);
+						}
+					}
+				}
+				else {
+					isolateChild(value, copier);
+				}
+			}
+		}
+		finally {
+			cursor.destroy();
+		}
+		sharedValues.clear();
+		isolated = true;
+
+		adoptCopies(copier);
+	}
+
+	/**
+	 * Isolates a value owned by this fork if it's the copy of a nested
+	 * document, since its own containers may still be shared.
+	 */
+	private void isolateChild(Object value, DocumentCopier copier) {
+		ForkState child = (children != null && value instanceof IData) ? children.get(value) : null;
+		if (child != null && child.copy == value) {
+			child.isolate(copier);
+		}
+	}
+
+	/**
+	 * Points the states of nested documents that haven't been materialised to
+	 * the deep copies of their IData, if any.
+	 */
+	private void adoptCopies(DocumentCopier copier) {
+		if (children == null) {
+			return;
+		}
+
+		for (ForkState child : new ArrayList<ForkState>(children.values())) {
+			if (child.copy == null) {
+				IData childCopy = (IData) copier.getCopy(child.original);
+				if (childCopy != null) {
+					child.copy = childCopy;
+					child.sharedValues = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+					child.isolated = true;
+					children.put(childCopy, child);
+					child.adoptCopies(copier);
+				}
+			}
+		}
+	}
+
+	private IData shallowCopy(IData source) {
+		IData target = idataFactory.create();
+		IDataCursor sourceCursor = source.getCursor();
+		IDataCursor targetCursor = target.getCursor();
+		try {
+			targetCursor.last();
+			while (sourceCursor.next()) {
+				targetCursor.insertAfter(sourceCursor.getKey(), sourceCursor.getValue());
+			}
+		}
+		finally {
+			sourceCursor.destroy();
+			targetCursor.destroy();
+		}
+		return target;
+	}
+
+	private static Set<Object> containersOf(IData iData) {
+		Set<Object> containers = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		IDataCursor cursor = iData.getCursor();
+		try {
+			while (cursor.next()) {
+				Object value = cursor.getValue();
+				if (value instanceof IData) {
+					containers.add(value);
+				}
+				else if (value instanceof Object[]) {
+					containers.add(value);
+					for (Object element : (Object[]) value) {
+						if (element instanceof IData) {
+							containers.add(element);
+						}
+					}
+				}
+			}
+		}
+		finally {
+			cursor.destroy();
+		}
+		return containers;
+	}
+
+	private static boolean contains(Object[] array, Object element) {
+		for (Object arrayElement : array) {
+			if (arrayElement == element) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -15,7 +15,10 @@
  */
 package au.com.innodev.wmboost.data;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.core.convert.ConversionService;
@@ -23,17 +26,188 @@ import org.springframework.core.convert.TypeDescriptor;
 
 import com.wm.data.IData;
 
+import au.com.innodev.wmboost.data.internal.TextUtil;
+
 class EntryUtil {
 
+	private static final TypeDescriptor DOC_LIST_TYPE = TypeDescriptor.collection(List.class,
+			TypeDescriptor.valueOf(Document.class));
+
+	/**
+	 * Converts a value to the given type while accessing the entry identified
+	 * by {@code key}. The key is only used for error reporting.
+	 */
+	public static <T> T convert(Object value, TypeDescriptor destTypeSpec, String key,
+			ConversionService conversionService) {
+		if (isAlreadyOfType(value, destTypeSpec)) {
+			@SuppressWarnings("unchecked")
+			T casted = (T) value;
+			return casted;
+		}
+
+		Object convertedValue;
+
+		// Single value
+		if (destTypeSpec.isCollection() || destTypeSpec.isArray()) {
+			try {
+				convertedValue = conversionService.convert(value, TypeDescriptor.forObject(value), destTypeSpec);
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("Unable to convert value to '" + destTypeSpec
+						+ "' while retrieving document field '" + key + "'", e);
+			}
+		} else {
+			try {
+				convertedValue = conversionService.convert(value, TypeDescriptor.forObject(value), destTypeSpec);
+			} catch (RuntimeException e) {
+				StringBuilder message = new StringBuilder();
+				message.append("Unable to convert value to type '");
+				message.append(destTypeSpec);
+				message.append("' while retrieving document field '");
+				message.append(key);
+				message.append("'. Actual value was [");
+				message.append(TextUtil.abbreviateObj(value, 100));
+				message.append("]");
+				if (value != null) {
+					message.append(" of type '");
+					message.append(value.getClass());
+					message.append("'");
+				}
+				throw new IllegalArgumentException(message.toString(), e);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		T casted = (T) convertedValue;
+		return casted;
+	}
+
+	/**
+	 * Returns whether the value can be returned as is, without going through
+	 * the conversion service. It's the case when the value is an instance of a
+	 * non-container type (e.g. a String value requested as a String). Values
+	 * requested as collections, arrays or maps still need their elements to be
+	 * converted, so they're never considered.
+	 * <p>
+	 * As a consequence, converters registered for a type to itself (or to one
+	 * of its supertypes) are never invoked for entry values.
+	 */
+	private static boolean isAlreadyOfType(Object value, TypeDescriptor destTypeSpec) {
+		if (value == null || destTypeSpec.isCollection() || destTypeSpec.isArray() || destTypeSpec.isMap()) {
+			return false;
+		}
+		
+		return destTypeSpec.getObjectType().isInstance(value);
+	}
+
+	public static Object convertForGet(Object value, TypeDescriptor accessorType, NormaliseOption normaliseOption,
+			String key, ConversionService conversionService) {
+		if (value instanceof IData[] && DOC_LIST_TYPE.equals(accessorType)) {
+			// Same as the normalised form: avoid wrapping elements that aren't read
+			return new DocumentListView((IData[]) value, conversionService);
+		}
+		Object convertedValue = convert(value, accessorType, key, conversionService);
+		if (accessorType.isCollection() && convertedValue instanceof List<?>) {
+			// The conversion may return the stored list itself or a modifiable copy
+			convertedValue = Collections.unmodifiableList((List<?>) convertedValue);
+		}
+
+		if (normaliseOption.isDontNormalise()) {
+			return convertedValue;
+		} else {
+			return normaliseValueForGet(convertedValue, conversionService);
+		}
+	}
+
+	public static Object convertForPut(Object value, TypeDescriptor mutatorType, NormaliseOption normaliseOption,
+			String key, ConversionService conversionService) {
+		if (mutatorType != null) {
+			if (value instanceof Document && IData.class.equals(mutatorType.getType())) {
+				return ((Document) value).getIData();
+			}
+			if (mutatorType.isArray()) {
+				Class<?> elementType = mutatorType.getElementTypeDescriptor().getType();
+				Object[] copied = IData.class.equals(elementType) && value instanceof Collection<?>
+						? toIDataArray((Collection<?>) value, true)
+						: copyIfAllElementsOfType(value, elementType);
+				if (copied != null) {
+					return copied;
+				}
+			}
+			return convert(value, mutatorType, key, conversionService);
+		}
+		else if (! normaliseOption.isDontNormalise()) {
+			return normaliseValueForPut(value, conversionService);
+		}
+		else {
+			return value;
+		}
+	}
+
+	/**
+	 * Copies a collection into a new array of {@code elementType} if all of its
+	 * elements are already of that type (or null), so that no element
+	 * conversion is needed. The collection is traversed once; the copy is
+	 * abandoned at the first element of another type.
+	 * 
+	 * @return the copy or {@code null} if the value needs to be converted
+	 */
+	private static Object[] copyIfAllElementsOfType(Object value, Class<?> elementType) {
+		if (elementType.isPrimitive()) {
+			return null;
+		}
+		else if (value instanceof Collection<?>) {
+			Collection<?> collection = (Collection<?>) value;
+			Object[] copy = (Object[]) Array.newInstance(elementType, collection.size());
+			int i = 0;
+			for (Object element : collection) {
+				if (i == copy.length || (element != null && !elementType.isInstance(element))) {
+					return null;
+				}
+				copy[i++] = element;
+			}
+			return (i == copy.length) ? copy : null;
+		}
+		else {
+			return null;
+		}
+	}
+
+	public static <T> T applyValNullHandling(T value, NullValHandling nullHandling, T defaultValue, String key) {
+		if (value == null) {
+			switch(nullHandling) {
+			case FAIL:
+				throw new UnexpectedEntryValueException("Unexpected null value for entry with key '"+ key + "'");
+			case RETURN_DEFAULT: 
+				return defaultValue;
+			case RETURN_NULL:
+				return null;
+			default:
+				throw new IllegalArgumentException("Unsupported null handling value: " + nullHandling);
+			}
+		}
+		else {
+			return value;
+		}
+	}
+
 	public static Object normaliseValueForPut(Object value, ConversionService conversionService) {
 		if (value instanceof Document) {
-			return conversionService.convert(value, TypeDescriptor.forObject(value), TypeDescriptor.valueOf(IData.class));
+			return ((Document) value).getIData();
 		}
 		else if (value instanceof Document[]) {
-			return conversionService.convert(value, TypeDescriptor.forObject(value), TypeDescriptor.valueOf(IData[].class));
+			Document[] documents = (Document[]) value;
+			IData[] idatas = new IData[documents.length];
+			for (int i = 0; i < documents.length; i++) {
+				idatas[i] = (documents[i] != null) ? documents[i].getIData() : null;
+			}
+			return idatas;
+		}
+		else if (value instanceof Collection<?>) {
+			IData[] idatas = toIDataArray((Collection<?>) value, false);
+			return (idatas != null) ? idatas : value;
 		}
 		else if (value instanceof Iterable<?>) {
-			if (CollectionUtil.areAllElementsOfType((Collection<?>) value, Document.class)) {
+			if (CollectionUtil.areAllElementsOfType((Iterable<?>) value, Document.class)) {
 				return conversionService.convert(value, TypeDescriptor.forObject(value), TypeDescriptor.valueOf(IData[].class));
 			}
 			else {
@@ -46,6 +220,41 @@ class EntryUtil {
 		}
 	}
 	
+	/**
+	 * Unwraps a collection of documents into a pre-sized IData array in a
+	 * single pass. Documents are unwrapped directly with
+	 * {@link Document#getIData()}, which is what the conversion service would
+	 * do.
+	 * 
+	 * @param acceptIData
+	 *            whether IData and null elements are accepted as they are
+	 * @return the array or {@code null} if an element can't be unwrapped
+	 */
+	private static IData[] toIDataArray(Collection<?> collection, boolean acceptIData) {
+		IData[] idatas = new IData[collection.size()];
+		int i = 0;
+		for (Object element : collection) {
+			if (i == idatas.length) {
+				return null;
+			}
+			else if (element instanceof Document) {
+				idatas[i++] = ((Document) element).getIData();
+			}
+			else if (acceptIData && (element == null || element instanceof IData)) {
+				idatas[i++] = (IData) element;
+			}
+			else {
+				return null;
+			}
+		}
+		return (i == idatas.length) ? idatas : null;
+	}
+
+	/**
+	 * Normalises a value read from an IData. Arrays are returned as read-only
+	 * list views backed by the original array rather than as copies, and
+	 * nested IData elements are wrapped on access.
+	 */
 	public static <A> A normaliseValueForGet(A value, ConversionService conversionService) {
 		if (value instanceof IData) {
 			@SuppressWarnings("unchecked")
@@ -54,26 +263,17 @@ class EntryUtil {
 		}		
 		else if (value instanceof IData[]) {
 			@SuppressWarnings("unchecked")
-			A normalised = (A) conversionService.convert(value, TypeDescriptor.forObject(value), getDocListType());
+			A normalised = (A) new DocumentListView((IData[]) value, conversionService);
 			return normalised;
 		}
 		else if (value instanceof Object[]) {
 			@SuppressWarnings("unchecked")
-			A normalised = (A) conversionService.convert(value, TypeDescriptor.forObject(value), getObjectListType());
+			A normalised = (A) Collections.unmodifiableList(Arrays.asList((Object[]) value));
 			return normalised;
 		}
 		else {
 			return value;
 		}
 	}
-	
-	private static TypeDescriptor getObjectListType() {
-		TypeDescriptor docListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Object.class));
-		return docListType;
-	}
-	
-	private static TypeDescriptor getDocListType() {
-		TypeDescriptor docListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Document.class));
-		return docListType;
-	}
+
 }
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * A reference to a unit entry where the value is treated as an array of
+ * {@code int}, i.e. an {@code int[]}. Values are stored as
+ * {@code Integer[]}, the same as {@link Document#intsEntry(String)} does.
+ * <p>
+ * Elements that are numbers, including webMethods scalars such as
+ * {@code MInteger}, are converted in place when their {@code long} value is
+ * within the {@code int} range, with any fractional part truncated. Strings in
+ * plain decimal notation (e.g. {@code "-123"}) are parsed in place. Other
+ * elements, including {@link java.math.BigInteger} and
+ * {@link java.math.BigDecimal} values and out of range numbers, are converted
+ * through the document's conversion service.
+ * <p>
+ * Refer to {@link PrimitiveArrayEntry} for more information.
+ */
+public interface IntArrayEntry extends PrimitiveArrayEntry<int[]> {
+}
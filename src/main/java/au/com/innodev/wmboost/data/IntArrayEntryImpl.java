@@ -0,0 +1,66 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * Implementation of {@link IntArrayEntry}.
+ */
+class IntArrayEntryImpl extends PrimitiveArrayEntryImpl<int[]> implements IntArrayEntry {
+
+	public IntArrayEntryImpl(DocumentImpl document, String key) {
+		super(document, key, EntryTypeSpec.INT_ARRAY, int[].class, Integer.class);
+	}
+
+	@Override
+	protected int[] newArray(int length) {
+		return new int[length];
+	}
+
+	@Override
+	protected boolean setDirect(int[] array, int index, Object element) {
+		if (element instanceof Integer) {
+			array[index] = (Integer) element;
+			return true;
+		}
+		else if (element instanceof Number) {
+			Number number = (Number) element;
+			if (isLongConvertible(number)) {
+				long value = number.longValue();
+				// Out of range values are reported by the conversion service
+				if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+					array[index] = (int) value;
+					return true;
+				}
+			}
+			return false;
+		}
+		else if (element instanceof String && isPlainInteger((String) element, 9)) {
+			array[index] = Integer.parseInt((String) element);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	protected void setBoxed(int[] array, int index, Object boxed) {
+		array[index] = (Integer) boxed;
+	}
+
+	@Override
+	protected Object getBoxed(int[] array, int index) {
+		return array[index];
+	}
+}
@@ -15,8 +15,6 @@
  */
 package au.com.innodev.wmboost.data;
 
-import org.springframework.core.convert.TypeDescriptor;
-
 import au.com.innodev.wmboost.data.internal.Preconditions;
 
 /**
@@ -26,12 +24,8 @@ import au.com.innodev.wmboost.data.internal.Preconditions;
  */
 class ItemEntryImpl<T> extends BaseUnitEntryImpl<T,T> implements ItemEntry<T> {
 
-	public ItemEntryImpl(DocumentImpl document, String key, TypeDescriptor accessorType, TypeDescriptor mutatorType, NormaliseOption normaliseOption) {
-		super(document, key, accessorType, mutatorType, normaliseOption);
-	}
-
-	public ItemEntryImpl(DocumentImpl document, String key, Class<T> type, NormaliseOption normaliseOption) {
-		this(document, key, TypeDescriptor.valueOf(type), null, normaliseOption);
+	public ItemEntryImpl(DocumentImpl document, String key, EntryTypeSpec typeSpec) {
+		super(document, key, typeSpec);
 	}
 	
 	@Override
@@ -75,8 +69,9 @@ class ItemEntryImpl<T> extends BaseUnitEntryImpl<T,T> implements ItemEntry<T> {
 	
 	private final T doGetValOrDefault(T defaultValue, NullValHandling nullHandling) {
 		Preconditions.checkNotNull(nullHandling, "null handling parameter was not set");
-		if (isAssigned()) {
-			T value = internalGetVal();
+		Object rawValue = lookupRawVal();
+		if (!isAbsent(rawValue)) {
+			T value = convertRawVal(rawValue);
 			value = applyValNullHandling(value, nullHandling, defaultValue);
 			return value;
 		} else {
@@ -85,21 +80,7 @@ class ItemEntryImpl<T> extends BaseUnitEntryImpl<T,T> implements ItemEntry<T> {
 	}
 
 	protected final T applyValNullHandling(T value, NullValHandling nullHandling, T defaultValue) {
-		if (value == null) {
-			switch(nullHandling) {
-			case FAIL:
-				throw new UnexpectedEntryValueException("Unexpected null value for entry with key '"+ getKey() + "'");
-			case RETURN_DEFAULT: 
-				return defaultValue;
-			case RETURN_NULL:
-				return null;
-			default:
-				throw new IllegalArgumentException("Unsupported null handling value: " + nullHandling);
-			}
-		}
-		else {
-			return value;
-		}
+		return EntryUtil.applyValNullHandling(value, nullHandling, defaultValue, getKey());
 	}
 
 }
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import org.springframework.core.convert.ConversionService;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * A {@link KeyValue} whose value is normalised the first time it's retrieved.
+ */
+final class LazyKeyValue implements KeyValue {
+
+	private final String key;
+	private Object value;
+	// Set to null once the value has been normalised
+	private ConversionService conversionService;
+
+	LazyKeyValue(String key, Object rawValue, ConversionService conversionService) {
+		this.key = Preconditions.checkNotNull(key);
+		this.value = rawValue;
+		this.conversionService = Preconditions.checkNotNull(conversionService);
+	}
+
+	@Override
+	public String getKey() {
+		return key;
+	}
+
+	@Override
+	public Object getValue() {
+		if (conversionService != null) {
+			value = EntryUtil.normaliseValueForGet(value, conversionService);
+			conversionService = null;
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * Implementation of {@link LongArrayEntry}.
+ */
+class LongArrayEntryImpl extends PrimitiveArrayEntryImpl<long[]> implements LongArrayEntry {
+
+	public LongArrayEntryImpl(DocumentImpl document, String key) {
+		super(document, key, EntryTypeSpec.LONG_ARRAY, long[].class, Long.class);
+	}
+
+	@Override
+	protected long[] newArray(int length) {
+		return new long[length];
+	}
+
+	@Override
+	protected boolean setDirect(long[] array, int index, Object element) {
+		if (element instanceof Long) {
+			array[index] = (Long) element;
+			return true;
+		}
+		else if (element instanceof Number) {
+			Number number = (Number) element;
+			if (isLongConvertible(number)) {
+				array[index] = number.longValue();
+				return true;
+			}
+			return false;
+		}
+		else if (element instanceof String && isPlainInteger((String) element, 18)) {
+			array[index] = Long.parseLong((String) element);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	protected void setBoxed(long[] array, int index, Object boxed) {
+		array[index] = (Long) boxed;
+	}
+
+	@Override
+	protected Object getBoxed(long[] array, int index) {
+		return array[index];
+	}
+}
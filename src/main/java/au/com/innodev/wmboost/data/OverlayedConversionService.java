@@ -17,6 +17,8 @@ package au.com.innodev.wmboost.data;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
@@ -27,12 +29,20 @@ import au.com.innodev.wmboost.data.internal.Preconditions;
  * A set of layers of {@link ConversionService}.
  * 
  * <p>Allows adding conversion services on top of base one. 
+ * 
+ * <p>The layer that handles a conversion is resolved once per source/target type
+ * pair and cached. Therefore, the answer of {@code canConvert} for every layer
+ * but the last one is expected not to change over time.
  */
 class OverlayedConversionService implements ConversionService {
 
+	/** Maximum number of type pairs for which the resolved layer is cached */
+	static final int MAX_CACHED_TYPE_PAIRS = 256;
+
 	private final List<ConversionService> conversionServices;
 	private final List<ConversionService> allButLast;
 	private final ConversionService last;
+	private final ConcurrentMap<TypePair, ConversionService> resolvedLayers = new ConcurrentHashMap<TypePair, ConversionService>();
 	
 	public OverlayedConversionService(List<ConversionService> conversionServices) {
 		super();
@@ -70,13 +80,65 @@ class OverlayedConversionService implements ConversionService {
 
 	@Override
 	public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return getLayer(sourceType, targetType).convert(source, sourceType, targetType);
+	}
+
+	private ConversionService getLayer(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (sourceType == null || targetType == null) {
+			return resolveLayer(sourceType, targetType);
+		}
+		
+		TypePair typePair = new TypePair(sourceType, targetType);
+		ConversionService layer = resolvedLayers.get(typePair);
+		if (layer == null) {
+			layer = resolveLayer(sourceType, targetType);
+			
+			// Once the limit is reached, new pairs are resolved on every call
+			if (resolvedLayers.size() < MAX_CACHED_TYPE_PAIRS) {
+				resolvedLayers.putIfAbsent(typePair, layer);
+			}
+		}
+		return layer;
+	}
+
+	private ConversionService resolveLayer(TypeDescriptor sourceType, TypeDescriptor targetType) {
 		for (ConversionService conversionService : allButLast) {
 			if (conversionService.canConvert(sourceType, targetType)) {
-				return conversionService.convert(source, sourceType, targetType);			
+				return conversionService;
 			}
 		}
 		
-		return last.convert(source, sourceType, targetType);
+		return last;
+	}
+
+	/**
+	 * Source/target type pair used as a key to cache resolved layers.
+	 */
+	private static final class TypePair {
+		private final TypeDescriptor sourceType;
+		private final TypeDescriptor targetType;
+
+		TypePair(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof TypePair)) {
+				return false;
+			}
+			TypePair otherPair = (TypePair) other;
+			return sourceType.equals(otherPair.sourceType) && targetType.equals(otherPair.targetType);
+		}
+
+		@Override
+		public int hashCode() {
+			return sourceType.hashCode() * 29 + targetType.hashCode();
+		}
 	}
 
 }
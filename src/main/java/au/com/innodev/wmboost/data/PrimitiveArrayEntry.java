@@ -0,0 +1,148 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * A reference to a unit entry where the value is treated as a primitive array.
+ * Allows access and modification of the entry identified by the key.
+ * <p>
+ * It's an alternative to collection entries such as
+ * {@link Document#intsEntry(String)} for large numeric collections. Values are
+ * converted directly into a primitive array, without boxing each element nor
+ * creating an intermediate list. Common element types are converted in place,
+ * as described by each subinterface; other elements are converted through the
+ * document's conversion service, as done by the equivalent collection entry.
+ * Since a primitive array can't hold null elements, an
+ * {@link UnexpectedEntryValueException} is thrown when a null element is
+ * found.
+ * <p>
+ * Values are stored as arrays of the corresponding wrapper type (e.g.
+ * {@code Integer[]}), the same as the equivalent collection entry does, so
+ * both entry types can be used interchangeably on the same key.
+ * <p>
+ * The behaviour of get, put, and other methods in this class is very similar to
+ * {@link CollectionEntry}. Refer to its documentation for more information.
+ * Returned arrays are never shared with the document, so they can be freely
+ * modified.
+ *
+ * @param <A>
+ *            primitive array type
+ * @see IntArrayEntry
+ * @see LongArrayEntry
+ * @see DoubleArrayEntry
+ */
+public interface PrimitiveArrayEntry<A> extends BaseUnitEntry, UnitEntryAccessor<A>, UnitEntryMutator<A> {
+
+	/** -------- Accessors ------------------------------------------ */
+
+	/**
+	 * @see HasKey#getKey()
+	 */
+	String getKey();
+
+	/**
+	 * @see BaseUnitEntry#isAssigned()
+	 */
+	boolean isAssigned();
+
+	/**
+	 * Returns the <em>value</em> component of an existing entry.
+	 * 
+	 * @return entry value, possibly {@code null}
+	 * @throws InexistentEntryException
+	 *             if there's no entry associated with the key
+	 * @see CollectionEntry#getVal()
+	 */
+	A getVal() throws InexistentEntryException;
+
+	/**
+	 * Returns the non-null <em>value</em> component of an existing entry.
+	 * 
+	 * @return entry value
+	 * @throws InexistentEntryException
+	 *             if there's no entry associated with the key
+	 * @throws UnexpectedEntryValueException
+	 *             if the value is null
+	 * @see CollectionEntry#getNonNullVal()
+	 */
+	A getNonNullVal() throws InexistentEntryException, UnexpectedEntryValueException;
+
+	/**
+	 * Returns the <em>value</em> component of an existing entry or an empty
+	 * array if the entry doesn't exist or its value is {@code null}.
+	 * 
+	 * @return entry value or an empty array
+	 * @see CollectionEntry#getValOrEmpty()
+	 */
+	A getValOrEmpty();
+
+	/**
+	 * Returns the <em>value</em> component of an existing entry. The provided
+	 * default value is returned if the entry doesn't exist or the entry value
+	 * is {@code null}.
+	 * 
+	 * @param defaultValue
+	 *            value to return if entry doesn't exist or is null
+	 * @return entry value or the default value
+	 * @see CollectionEntry#getValOrDefault(java.util.List)
+	 */
+	A getValOrDefault(A defaultValue);
+
+	/**
+	 * Returns the <em>value</em> component of an existing entry or a default
+	 * value if the entry doesn't exist.
+	 * 
+	 * @param defaultValue
+	 *            value to return if entry doesn't exist
+	 * @param nullValHandling
+	 *            behaviour when entry contains a null value
+	 * @return entry value or the default value
+	 * @throws UnexpectedEntryValueException
+	 *             when the entry value is null and {@link NullValHandling#FAIL}
+	 *             is used.
+	 * @see CollectionEntry#getValOrDefault(java.util.List, NullValHandling)
+	 */
+	A getValOrDefault(A defaultValue, NullValHandling nullValHandling)
+			throws UnexpectedEntryValueException;
+
+	/** -------- Mutators ------------------------------------------ */
+
+	/**
+	 * Sets the provided {@code value} as the entry's value. It's stored as an
+	 * array of the corresponding wrapper type (e.g. {@code Integer[]}).
+	 * <p>
+	 * If an entry identified with the key doesn't exist, a value is created.
+	 * Otherwise, the entry's value is replaced with the provided {@code value}.
+	 * 
+	 * @param value
+	 *            the new value to set for the entry, possibly {@code null}
+	 */
+	void put(A value);
+
+	/**
+	 * Deletes the entry in strict mode.
+	 * 
+	 * @see #remove(RemoveEntryOption)
+	 */
+	void remove() throws InexistentEntryException;
+
+	/**
+	 * Deletes the entry identified by the element's key.
+	 * 
+	 * @see CollectionEntry#remove(RemoveEntryOption)
+	 */
+	void remove(RemoveEntryOption removeOption) throws InexistentEntryException;
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * Base implementation of entries whose values are treated as primitive arrays.
+ * <p>
+ * Raw values are converted into primitive arrays in a single loop. Common
+ * element types (the boxed type, other numbers and plain number strings) are
+ * extracted in place by subclasses; the conversion service is only used for
+ * the rest.
+ *
+ * @param <A>
+ *            primitive array type
+ */
+abstract class PrimitiveArrayEntryImpl<A> extends BaseUnitEntryImpl<A, A> implements PrimitiveArrayEntry<A> {
+
+	private final Class<A> arrayType;
+	private final TypeDescriptor elementType;
+	private final TypeDescriptor boxedArrayType;
+
+	PrimitiveArrayEntryImpl(DocumentImpl document, String key, EntryTypeSpec typeSpec, Class<A> arrayType,
+			Class<?> boxedType) {
+		super(document, key, typeSpec);
+		this.arrayType = arrayType;
+		this.elementType = TypeDescriptor.valueOf(boxedType);
+		this.boxedArrayType = TypeDescriptor.array(elementType);
+	}
+
+	protected abstract A newArray(int length);
+
+	/**
+	 * Sets an element without going through the conversion service, if its
+	 * type allows it.
+	 * 
+	 * @return true if the element was set; false, if it needs to be converted
+	 */
+	protected abstract boolean setDirect(A array, int index, Object element);
+
+	/**
+	 * Sets an element from a non-null value of the boxed type.
+	 */
+	protected abstract void setBoxed(A array, int index, Object boxed);
+
+	/**
+	 * Returns an element as a value of the boxed type.
+	 */
+	protected abstract Object getBoxed(A array, int index);
+
+	@Override
+	protected final A convertRawVal(Object rawValue) {
+		return (rawValue != null) ? toPrimitiveArray(rawValue) : null;
+	}
+
+	/**
+	 * Converts a non-null raw value into a new primitive array.
+	 */
+	private A toPrimitiveArray(Object rawValue) {
+		if (arrayType.isInstance(rawValue)) {
+			int length = Array.getLength(rawValue);
+			A copy = newArray(length);
+			System.arraycopy(rawValue, 0, copy, 0, length);
+			return copy;
+		}
+
+		Object[] elements = toElements(rawValue);
+		if (elements == null) {
+			return null;
+		}
+
+		A result = newArray(elements.length);
+		for (int i = 0; i < elements.length; i++) {
+			Object element = elements[i];
+			if (!setDirect(result, i, element)) {
+				setBoxed(result, i, convertElement(element, i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a non-null primitive array into the boxed array to be stored.
+	 */
+	private Object toStorageArray(A value) {
+		int length = Array.getLength(value);
+		Object[] boxed = (Object[]) Array.newInstance(elementType.getType(), length);
+		for (int i = 0; i < length; i++) {
+			boxed[i] = getBoxed(value, i);
+		}
+		return boxed;
+	}
+
+	public final A getVal() throws InexistentEntryException {
+		return doGetVal();
+	}
+
+	public final A getNonNullVal() throws InexistentEntryException, UnexpectedEntryValueException {
+		return doGetNonNullVal();
+	}
+
+	public final A getValOrEmpty() {
+		return getValOrDefault(newArray(0), NullValHandling.RETURN_DEFAULT);
+	}
+
+	public final A getValOrDefault(A defaultValue) {
+		return getValOrDefault(defaultValue, NullValHandling.RETURN_DEFAULT);
+	}
+
+	public final A getValOrDefault(A defaultValue, NullValHandling nullHandling) {
+		Preconditions.checkNotNull(nullHandling, "null handling parameter was not set");
+		Object rawValue = lookupRawVal();
+		if (isAbsent(rawValue)) {
+			return defaultValue;
+		}
+		return EntryUtil.applyValNullHandling(convertRawVal(rawValue), nullHandling, defaultValue, getKey());
+	}
+
+	public final void put(A value) {
+		doPut((value != null) ? toStorageArray(value) : null);
+	}
+
+	/**
+	 * Returns the elements of a raw value. Object arrays are returned as is,
+	 * other values are converted to an array of the boxed type.
+	 */
+	private Object[] toElements(Object rawValue) {
+		if (rawValue instanceof Object[]) {
+			return (Object[]) rawValue;
+		}
+		return getConvertedValue(rawValue, boxedArrayType);
+	}
+
+	/**
+	 * Converts an element with the conversion service. Null elements, before
+	 * or after conversion, can't be represented in a primitive array.
+	 */
+	private Object convertElement(Object element, int index) {
+		Object converted = (element != null) ? getConvertedValue(element, elementType) : null;
+		if (converted == null) {
+			throw new UnexpectedEntryValueException("Unexpected null element at position " + index
+					+ " for entry with key '" + getKey() + "'");
+		}
+		return converted;
+	}
+
+	/**
+	 * Returns whether the number is of a type whose {@code longValue()} is
+	 * what the conversion service would convert it to. Arbitrary-precision
+	 * numbers are left to the conversion service.
+	 */
+	static boolean isLongConvertible(Number value) {
+		return !(value instanceof BigInteger || value instanceof BigDecimal);
+	}
+
+	/**
+	 * Returns whether the string is an optionally negative sequence of up to
+	 * {@code maxDigits} decimal digits, which the conversion service would
+	 * parse to the same number.
+	 */
+	static boolean isPlainInteger(String value, int maxDigits) {
+		int length = value.length();
+		int start = (length > 0 && value.charAt(0) == '-') ? 1 : 0;
+		int digits = length - start;
+		if (digits < 1 || digits > maxDigits) {
+			return false;
+		}
+		for (int i = start; i < length; i++) {
+			char c = value.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the string is an optionally negative decimal number with
+	 * an optional fractional part (e.g. "-12.5").
+	 */
+	static boolean isPlainDecimal(String value) {
+		int length = value.length();
+		int i = (length > 0 && value.charAt(0) == '-') ? 1 : 0;
+		int integerDigits = 0;
+		while (i < length && isDigit(value.charAt(i))) {
+			i++;
+			integerDigits++;
+		}
+		if (integerDigits == 0) {
+			return false;
+		}
+		if (i == length) {
+			return true;
+		}
+		if (value.charAt(i) != '.' || i == length - 1) {
+			return false;
+		}
+		for (i++; i < length; i++) {
+			if (!isDigit(value.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+}
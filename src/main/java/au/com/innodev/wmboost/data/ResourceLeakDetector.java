@@ -0,0 +1,129 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reports resources that are garbage collected while still holding open
+ * cursors, i.e. resources that weren't closed nor fully iterated.
+ * <p>
+ * Detection is disabled by default. It's enabled by setting the
+ * {@value #ENABLED_PROPERTY} system property to {@code true}, in which case
+ * leaks are logged as warnings through {@code java.util.logging}, along with
+ * the stack trace where the resource was created. Leaks are detected when new
+ * resources are tracked, so they may be reported some time after they
+ * happen.
+ */
+class ResourceLeakDetector {
+
+	static final String ENABLED_PROPERTY = "wmboost.data.leakDetection";
+
+	private static final Logger LOGGER = Logger.getLogger(ResourceLeakDetector.class.getName());
+
+	private static final ResourceLeakDetector DEFAULT = new ResourceLeakDetector(
+			Boolean.getBoolean(ENABLED_PROPERTY));
+
+	private final boolean enabled;
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+	// Keeps trackers reachable until their resource is collected or closed
+	private final Set<Tracker> trackers = Collections.synchronizedSet(new HashSet<Tracker>());
+
+	ResourceLeakDetector(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	static ResourceLeakDetector getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Starts tracking a resource.
+	 * 
+	 * @param resource
+	 *            resource to track
+	 * @return the tracker, to be updated as the resource is used; {@code null}
+	 *         if detection is disabled
+	 */
+	Tracker track(Object resource) {
+		if (!enabled) {
+			return null;
+		}
+		reportLeaks();
+
+		Tracker tracker = new Tracker(resource, queue, resource.getClass().getName());
+		trackers.add(tracker);
+		return tracker;
+	}
+
+	/**
+	 * Logs resources that have been collected while still open.
+	 * 
+	 * @return the number of leaks reported
+	 */
+	int reportLeaks() {
+		int leaks = 0;
+		Reference<?> ref;
+		while ((ref = queue.poll()) != null) {
+			Tracker tracker = (Tracker) ref;
+			if (trackers.remove(tracker) && tracker.open) {
+				LOGGER.log(Level.WARNING, tracker.description + " was garbage collected without being closed. "
+						+ "Invoke close() once the iteration is over", tracker.creationSite);
+				leaks++;
+			}
+		}
+		return leaks;
+	}
+
+	/**
+	 * Tracks a single resource. It doesn't reference the resource, so that
+	 * the resource can still be collected.
+	 */
+	final class Tracker extends PhantomReference<Object> {
+
+		private final String description;
+		private final Throwable creationSite;
+		private volatile boolean open;
+
+		private Tracker(Object resource, ReferenceQueue<Object> queue, String description) {
+			super(resource, queue);
+			this.description = description;
+			this.creationSite = new Throwable("Resource created here");
+		}
+
+		/**
+		 * Indicates whether the resource currently holds open cursors.
+		 */
+		void setOpen(boolean open) {
+			this.open = open;
+		}
+
+		/**
+		 * Stops tracking the resource, once it's been closed.
+		 */
+		void close() {
+			trackers.remove(this);
+			clear();
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * A field declared in a {@link DocumentSchema}. It identifies an entry by its
+ * key and specifies the type to treat its value as.
+ * <p>
+ * Instances are created by a {@link DocumentSchemaBuilder} and used as handles
+ * to access values in {@link SchemaValues}.
+ *
+ * @param <T>
+ *            type to treat the entry value as
+ * @see DocumentSchemaBuilder
+ */
+public interface SchemaField<T> extends HasKey {
+
+	/**
+	 * @see HasKey#getKey()
+	 */
+	String getKey();
+
+	/**
+	 * Returns the type to treat the entry value as.
+	 * 
+	 * @return field type
+	 */
+	Class<T> getType();
+
+	/**
+	 * Indicates whether the entry must exist in the document when reading
+	 * values.
+	 * 
+	 * @return true if the field is required; false, if it's optional
+	 */
+	boolean isRequired();
+}
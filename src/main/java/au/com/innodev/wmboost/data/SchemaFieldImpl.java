@@ -0,0 +1,94 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * <p>Implementation of {@link SchemaField}.
+ *
+ * @param <T> value type
+ */
+final class SchemaFieldImpl<T> implements SchemaField<T> {
+
+	private final String key;
+	private final Class<T> type;
+	private final EntryTypeSpec typeSpec;
+	private final boolean required;
+	private final T defaultValue;
+	private final NullValHandling nullValHandling;
+	// Position of the field in the schema
+	private final int index;
+
+	SchemaFieldImpl(String key, Class<T> type, boolean required, T defaultValue, NullValHandling nullValHandling,
+			int index) {
+		this.key = Preconditions.checkHasLength(key, "Invalid key was provided (null or empty string)");
+		this.type = Preconditions.checkNotNull(type, "Field type cannot be null");
+		this.typeSpec = EntryTypeSpec.forEntryType(type);
+		this.required = required;
+		this.defaultValue = defaultValue;
+		this.nullValHandling = Preconditions.checkNotNull(nullValHandling, "null handling parameter was not set");
+		this.index = index;
+	}
+
+	@Override
+	public String getKey() {
+		return key;
+	}
+
+	@Override
+	public Class<T> getType() {
+		return type;
+	}
+
+	@Override
+	public boolean isRequired() {
+		return required;
+	}
+
+	T getDefaultValue() {
+		return defaultValue;
+	}
+
+	EntryTypeSpec getTypeSpec() {
+		return typeSpec;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Applies the null handling of the field to a value read from an existing
+	 * entry. Null values of required fields are returned as is, as in
+	 * {@link ItemEntry#getVal()}.
+	 */
+	Object applyNullHandling(Object value) {
+		if (required) {
+			return value;
+		}
+		return EntryUtil.applyValNullHandling(value, nullValHandling, defaultValue, key);
+	}
+
+	NullValHandling getNullValHandling() {
+		return nullValHandling;
+	}
+
+	@Override
+	public String toString() {
+		return "{SchemaField '" + key + "' of type " + type.getName() + (required ? ", required" : ", optional") + "}";
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * The values of the fields declared in a {@link DocumentSchema}.
+ * <p>
+ * Instances are returned by {@link DocumentSchema#read(Document)}, holding the
+ * values retrieved from a document, and by {@link DocumentSchema#newValues()}
+ * holding no values. They can be written to a document with
+ * {@link DocumentSchema#write(Document, SchemaValues)}.
+ * <p>
+ * A field is <em>assigned</em> if its value was read from an existing entry or
+ * if it was set via {@link #set(SchemaField, Object)}. Only assigned fields
+ * are written to a document.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public interface SchemaValues {
+
+	/**
+	 * Returns the value of a field.
+	 * <p>
+	 * For an optional field whose entry didn't exist in the document, the
+	 * field's default value is returned. For a field that was never read nor
+	 * set, {@code null} is returned.
+	 * 
+	 * @param field
+	 *            a field of the schema
+	 * @return the field value, possibly {@code null}
+	 * @throws IllegalArgumentException
+	 *             if the field isn't declared in the schema
+	 */
+	<T> T get(SchemaField<T> field);
+
+	/**
+	 * Sets the value of a field and marks it as assigned.
+	 * 
+	 * @param field
+	 *            a field of the schema
+	 * @param value
+	 *            new value, possibly {@code null}
+	 * @throws IllegalArgumentException
+	 *             if the field isn't declared in the schema
+	 */
+	<T> void set(SchemaField<T> field, T value);
+
+	/**
+	 * Indicates whether a field is assigned, i.e., if its value was read from
+	 * an existing entry or if it was set.
+	 * 
+	 * @param field
+	 *            a field of the schema
+	 * @return true if the field is assigned; false, otherwise
+	 * @throws IllegalArgumentException
+	 *             if the field isn't declared in the schema
+	 */
+	boolean isAssigned(SchemaField<?> field);
+
+	/**
+	 * Returns the values of all fields, in the order the fields were declared.
+	 * 
+	 * @return a new array with the field values
+	 */
+	Object[] toArray();
+}
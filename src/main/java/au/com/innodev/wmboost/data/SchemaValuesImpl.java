@@ -0,0 +1,74 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+/**
+ * <p>Implementation of {@link SchemaValues}. Values are held in an array
+ * indexed by field position.
+ */
+final class SchemaValuesImpl implements SchemaValues {
+
+	private final DocumentSchemaImpl schema;
+	private final Object[] values;
+	private final boolean[] assigned;
+
+	SchemaValuesImpl(DocumentSchemaImpl schema) {
+		this.schema = schema;
+		this.values = new Object[schema.getFieldCount()];
+		this.assigned = new boolean[values.length];
+	}
+
+	@Override
+	public <T> T get(SchemaField<T> field) {
+		@SuppressWarnings("unchecked")
+		T value = (T) values[schema.indexOf(field)];
+		return value;
+	}
+
+	@Override
+	public <T> void set(SchemaField<T> field, T value) {
+		int index = schema.indexOf(field);
+		values[index] = value;
+		assigned[index] = true;
+	}
+
+	@Override
+	public boolean isAssigned(SchemaField<?> field) {
+		return assigned[schema.indexOf(field)];
+	}
+
+	@Override
+	public Object[] toArray() {
+		return values.clone();
+	}
+
+	DocumentSchemaImpl getSchema() {
+		return schema;
+	}
+
+	Object getValue(int index) {
+		return values[index];
+	}
+
+	boolean isAssigned(int index) {
+		return assigned[index];
+	}
+
+	void setRead(int index, Object value, boolean isAssigned) {
+		values[index] = value;
+		assigned[index] = isAssigned;
+	}
+}
@@ -53,6 +53,31 @@ public interface SplitEntry<E> extends HasKey, EntryMutator<Iterable<? extends E
 	 */
 	List<E> getValOrEmpty();
 
+	/**
+	 * Returns the values in the split entry as an iterable resource. Unlike
+	 * {@link #getValOrEmpty()}, values are not collected into a list: each
+	 * value is converted when the iterator returns it. If there are no entries
+	 * with the key, iterators are empty.
+	 * <p>
+	 * An iterator releases its resources once it has returned the last value.
+	 * If the iteration may stop earlier, invoke {@code close()} on the returned
+	 * value after processing is complete.
+	 * 
+	 * <p>
+	 * <em>Java 7 or Higher Example</em>
+	 * 
+	 * <pre>
+	 * try (ValueIterableResource&lt;String&gt; values = doc.splitEntry("segment", String.class).getValIterable()) {
+	 * 	for (String value : values) {
+	 * 		// do something
+	 * 	}
+	 * }
+	 * </pre>
+	 * 
+	 * @return an iterable resource over the split entry values
+	 */
+	ValueIterableResource<E> getValIterable();
+
 	/**
 	 * Sets or replaces all values in the split entry with the provided
 	 * ones.
@@ -26,19 +26,8 @@ import au.com.innodev.wmboost.data.internal.Preconditions;
 
 class SplitEntryImpl<E> extends BaseEntry<E, E> implements SplitEntry<E> {
 
-	private final TypeDescriptor accessorType;
-	private final TypeDescriptor mutatorType;
-
-	public SplitEntryImpl(DocumentImpl document, String key, TypeDescriptor accessorType,
-			TypeDescriptor mutatorType, NormaliseOption normaliseOption) {
-		super(document, key, normaliseOption);
-
-		this.accessorType = Preconditions.checkNotNull(accessorType);
-		this.mutatorType = mutatorType;
-	}
-
-	public SplitEntryImpl(DocumentImpl document, String key, Class<?> memberType, NormaliseOption normaliseOption) {
-		this(document, key, TypeDescriptor.valueOf(memberType), null, normaliseOption);
+	public SplitEntryImpl(DocumentImpl document, String key, EntryTypeSpec memberTypeSpec) {
+		super(document, key, memberTypeSpec);
 	}
 
 	@Override
@@ -55,13 +44,16 @@ class SplitEntryImpl<E> extends BaseEntry<E, E> implements SplitEntry<E> {
 	@Override
 	public List<E> getValOrEmpty() {
 		List<E> list = new ArrayList<E>();
+		if (getDocument().isKnownAbsent(getKey())) {
+			return list;
+		}
 
 		IDataCursorResource cursorRes = newCursorResource();
 		try {
 			boolean hasMore = cursorRes.getCursor().first(getKey());
 			while (hasMore) {
 				Object value = cursorRes.getCursor().getValue();
-				E converted = convertAndNormaliseValForGet(value, accessorType);
+				E converted = convertAndNormaliseValForGet(value, getAccessorType());
 
 				list.add(converted);
 				hasMore = cursorRes.getCursor().next(getKey());
@@ -72,6 +64,11 @@ class SplitEntryImpl<E> extends BaseEntry<E, E> implements SplitEntry<E> {
 		return list;
 	}
 
+	@Override
+	public ValueIterableResource<E> getValIterable() {
+		return new SplitEntryIterable<E>(getDocument(), getKey(), getTypeSpec());
+	}
+
 	@Override
 	public void put(Iterable<? extends E> values) {
 		doPut(values);
@@ -79,7 +76,7 @@ class SplitEntryImpl<E> extends BaseEntry<E, E> implements SplitEntry<E> {
 
 	@Override
 	public void putConverted(Iterable<?> values) {
-		TypeDescriptor listAccessor = TypeDescriptor.collection(List.class, accessorType);
+		TypeDescriptor listAccessor = TypeDescriptor.collection(List.class, getAccessorType());
 
 		Iterable<?> convertedValues = getConvertedValue(values, listAccessor);
 
@@ -87,31 +84,25 @@ class SplitEntryImpl<E> extends BaseEntry<E, E> implements SplitEntry<E> {
 	}
 
 	private void doPut(Iterable<?> values) {
+		// Convert everything first so that a failed conversion leaves the entry untouched
+		List<Object> normalisedVals = new ArrayList<Object>();
+		for (Object individualVal : values) {
+			normalisedVals.add(convertAndNormaliseValForPut(individualVal, getMutatorType()));
+		}
 
-		IDataCursorResource cursorRes = newCursorResource();
+		IDataCursorResource cursorRes = newWritableCursorResource();
 		try {
 			IDataCursor cursor = cursorRes.getCursor();
 
-			boolean continueLoop;
-
 			/* Remove previous entries */
-			do {
-				boolean hasValWithKey = cursor.first(getKey());
-
-				if (hasValWithKey) {
-					continueLoop = cursor.delete();
-				} else {
-					continueLoop = false;
-				}
-			} while (continueLoop);
+			deleteAll(cursor);
 
 			cursor.last();
-
-			for (Object individualVal : values) {
-				Object normalisedIndividualVal = convertAndNormaliseValForPut(individualVal, mutatorType);
+			for (Object normalisedIndividualVal : normalisedVals) {
 				cursor.insertAfter(getKey(), normalisedIndividualVal);
 			}
 		} finally {
+			getDocument().invalidateKeyIndex();
 			cursorRes.close();
 		}
 	}
@@ -123,31 +114,39 @@ class SplitEntryImpl<E> extends BaseEntry<E, E> implements SplitEntry<E> {
 	@Override
 	public final void remove(RemoveEntryOption removeOption) {
 		Preconditions.checkNotNull(removeOption, "Remove option cannot be null");
-		boolean hasMore;
 
-		IDataCursorResource cursorRes = newCursorResource();
+		IDataCursorResource cursorRes = newWritableCursorResource();
 		try {
+			boolean deleted = deleteAll(cursorRes.getCursor());
 
-			IDataCursor cursor = cursorRes.getCursor();
-
-			boolean hasFirst = cursor.first(getKey());
-
-			if (!hasFirst && RemoveEntryOption.STRICT.equals(removeOption)) {
+			if (!deleted && RemoveEntryOption.STRICT.equals(removeOption)) {
 				throw new InexistentEntryException(
 						"Entry with key '" + getKey() + "' doesn't exist and can't be removed");
 			}
-
-			hasMore = hasFirst;
-
-			while (hasMore) {
-				deleteCurrentEntry(cursor);
-
-				hasMore = cursor.first(getKey());
-			}
 		} finally {
+			getDocument().invalidateKeyIndex();
 			cursorRes.close();
 		}
 
 	}
 
+	/**
+	 * Deletes all entries with the key in a single forward sweep. After a
+	 * deletion the cursor is left on the following element, so the search
+	 * resumes from there instead of from the start of the document.
+	 * 
+	 * @return whether any entry was deleted
+	 */
+	private boolean deleteAll(IDataCursor cursor) {
+		String key = getKey();
+		boolean deleted = false;
+		boolean found = cursor.first(key);
+		while (found) {
+			boolean hasFollowing = cursor.delete();
+			deleted = true;
+			found = hasFollowing && (key.equals(cursor.getKey()) || cursor.next(key));
+		}
+		return deleted;
+	}
+
 }
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * <p>Implementation of {@link ValueIterableResource} for split entries
+ * <p>
+ * Only iterators that still hold a cursor are retained: iterators release
+ * their cursor and deregister themselves once they're exhausted.
+ */
+class SplitEntryIterable<E> implements ValueIterableResource<E> {
+
+	private final Set<SplitEntryIterator<E>> openIterators;
+	private final DocumentImpl document;
+	private final String key;
+	private final EntryTypeSpec memberTypeSpec;
+	// May be null, in which case leak detection is disabled
+	private final ResourceLeakDetector.Tracker leakTracker;
+
+	SplitEntryIterable(DocumentImpl document, String key, EntryTypeSpec memberTypeSpec) {
+		this(document, key, memberTypeSpec, ResourceLeakDetector.getDefault());
+	}
+
+	SplitEntryIterable(DocumentImpl document, String key, EntryTypeSpec memberTypeSpec,
+			ResourceLeakDetector leakDetector) {
+		this.document = Preconditions.checkNotNull(document, "document cannot be null");
+		this.key = Preconditions.checkHasLength(key, "Invalid key was provided (null or empty string)");
+		this.memberTypeSpec = Preconditions.checkNotNull(memberTypeSpec);
+		this.openIterators = Collections.newSetFromMap(new IdentityHashMap<SplitEntryIterator<E>, Boolean>());
+		this.leakTracker = leakDetector.track(this);
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		SplitEntryIterator<E> iterator = new SplitEntryIterator<E>(document, key, memberTypeSpec, this);
+		// Iterators over absent entries are exhausted from the start
+		if (iterator.isOpen()) {
+			openIterators.add(iterator);
+			updateLeakTracker();
+		}
+		return iterator;
+	}
+
+	/**
+	 * Invoked by an iterator once it has released its cursor.
+	 */
+	void iteratorReleased(SplitEntryIterator<E> iterator) {
+		openIterators.remove(iterator);
+		updateLeakTracker();
+	}
+
+	int getOpenIteratorCount() {
+		return openIterators.size();
+	}
+
+	@Override
+	public void close() {
+		// Copied as iterators deregister themselves when closed
+		List<SplitEntryIterator<E>> iterators = new ArrayList<SplitEntryIterator<E>>(openIterators);
+		openIterators.clear();
+		for (SplitEntryIterator<E> iterator : iterators) {
+			iterator.close();
+		}
+		if (leakTracker != null) {
+			leakTracker.close();
+		}
+	}
+
+	private void updateLeakTracker() {
+		if (leakTracker != null) {
+			leakTracker.setOpen(!openIterators.isEmpty());
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.core.convert.ConversionService;
+
+import com.wm.data.IDataCursor;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
+
+/**
+ * Iterator over the values of a split entry. Each value is converted when it's
+ * returned and the cursor is destroyed as soon as the last value is reached.
+ */
+class SplitEntryIterator<E> implements Iterator<E>, Closeable {
+
+	private final String key;
+	private final EntryTypeSpec memberTypeSpec;
+	private final ConversionService conversionService;
+	// May be null
+	private final SplitEntryIterable<E> owner;
+	private IDataCursor cursor;
+	private boolean exhausted;
+
+	SplitEntryIterator(DocumentImpl document, String key, EntryTypeSpec memberTypeSpec, SplitEntryIterable<E> owner) {
+		Preconditions.checkNotNull(document, "document cannot be null");
+		this.owner = owner;
+		this.key = key;
+		this.memberTypeSpec = memberTypeSpec;
+		this.conversionService = document.getInternalConversionService();
+
+		if (document.isKnownAbsent(key)) {
+			exhausted = true;
+		}
+		else {
+			cursor = document.getReadableIData().getCursor();
+			if (!cursor.first(key)) {
+				close();
+				exhausted = true;
+			}
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (exhausted) {
+			return false;
+		}
+		ensureNotClosed();
+		return true;
+	}
+
+	@Override
+	public E next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("Iterator had already reached last element");
+		}
+
+		@SuppressWarnings("unchecked")
+		E converted = (E) EntryUtil.convertForGet(cursor.getValue(), memberTypeSpec.getAccessorType(),
+				memberTypeSpec.getNormaliseOption(), key, conversionService);
+
+		if (!cursor.next(key)) {
+			close();
+			exhausted = true;
+		}
+		return converted;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Remove operation is not supported");
+	}
+
+	@Override
+	public void close() {
+		if (cursor != null) {
+			cursor.destroy();
+			cursor = null;
+			if (owner != null) {
+				owner.iteratorReleased(this);
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether the iterator still holds a cursor.
+	 */
+	boolean isOpen() {
+		return cursor != null;
+	}
+
+	private void ensureNotClosed() {
+		if (cursor == null) {
+			throw new IllegalStateException("Unable to iterate over split entry. Cursor has already been closed");
+		}
+	}
+}
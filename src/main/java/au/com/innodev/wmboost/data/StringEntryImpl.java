@@ -20,7 +20,7 @@ import org.springframework.util.StringUtils;
 class StringEntryImpl extends ItemEntryImpl<String> implements StringEntry {
 
 	public StringEntryImpl(DocumentImpl document, String key) {
-		super(document, key, String.class, NormaliseOption.DONT_NORMALISE);
+		super(document, key, EntryTypeSpec.STRING);
 	}
 
 	@Override
@@ -15,18 +15,33 @@
  */
 package au.com.innodev.wmboost.data;
 
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.core.convert.ConversionService;
+
+import com.wm.data.IDataCursor;
+
+import au.com.innodev.wmboost.data.internal.Preconditions;
 
 /**
  * Allows iterating over unit entries in a document.
+ * <p>
+ * Each iterator walks the document with a single cursor, skipping entries
+ * whose key has already been returned. Values are read and normalised when
+ * they're returned, the same way as {@link Document#entry(String)} does.
  */
 class UnitEntryIterable implements Iterable<KeyValue> {
 
-	private final Document document;
+	private final DocumentImpl document;
+	private final ConversionService conversionService;
 	
-	public UnitEntryIterable(Document document) {
-		super();
+	UnitEntryIterable(DocumentImpl document) {
+		Preconditions.checkNotNull(document, "document cannot be null");
 		this.document = document;
+		this.conversionService = document.getInternalConversionService();
 	}
 
 	@Override
@@ -35,22 +50,49 @@ class UnitEntryIterable implements Iterable<KeyValue> {
 	}
 
 	private class UnitEntryIterator implements Iterator<KeyValue> {
-		private final Iterator<String> keys;
+		private final Set<String> returnedKeys = new HashSet<String>();
+		// Set to null once the iteration is over
+		private IDataCursor cursor;
+		// Whether the cursor is on an entry to be returned by next()
+		private boolean positioned = false;
+
 		public UnitEntryIterator() {
-			this.keys = document.getKeys().iterator();
+			this.cursor = document.getReadableIData().getCursor();
 		}
 
 		@Override
 		public boolean hasNext() {
-			return keys.hasNext();
+			if (positioned) {
+				return true;
+			}
+			if (cursor == null) {
+				return false;
+			}
+
+			while (cursor.next()) {
+				if (returnedKeys.add(cursor.getKey())) {
+					positioned = true;
+					return true;
+				}
+			}
+			cursor.destroy();
+			cursor = null;
+			return false;
 		}
 
 		@Override
 		public KeyValue next() {
-			String key = keys.next();
-			Object value = document.entry(key).getVal();
-			KeyValue keyVal = new ImmutableKeyValue(key, value);
-			return keyVal;
+			if (!hasNext()) {
+				throw new NoSuchElementException("Iterator had already reached last element");
+			}
+			positioned = false;
+			Object value = EntryUtil.normaliseValueForGet(cursor.getValue(), conversionService);
+			return new ImmutableKeyValue(cursor.getKey(), value);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Remove operation is not supported");
 		}
 	}
 }
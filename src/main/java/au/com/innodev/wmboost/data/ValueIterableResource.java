@@ -0,0 +1,34 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data;
+
+import java.io.Closeable;
+
+/**
+ * <p>
+ * An iterable for the values of a split entry that is also exposed as a
+ * resource (i.e., a {@link Closeable}).
+ * <p>
+ * Values are converted as they are consumed. An iterator releases its internal
+ * resources once its last value has been returned; to stop iterating earlier,
+ * invoke the {@link #close() method}.
+ *
+ * @param <E>
+ *            element type
+ */
+public interface ValueIterableResource<E> extends Iterable<E>, Closeable {
+	void close();
+}
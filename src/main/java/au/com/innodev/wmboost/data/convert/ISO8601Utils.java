@@ -47,11 +47,17 @@ class ISO8601Utils
      */
     private static final TimeZone TIMEZONE_UTC = TimeZone.getTimeZone(UTC_ID);
 
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
     /**
-     * Timezone we use for 'Z' in ISO-8601 date/time values: since 2.7
-     * {@link #TIMEZONE_UTC}; with earlier versions up to 2.7 was {@link #TIMEZONE_GMT}.
+     * Dates from this year onwards are computed with epoch-day arithmetic on the
+     * proleptic Gregorian calendar. Earlier dates go through {@link GregorianCalendar},
+     * which switches to the Julian calendar before the 1582 cutover.
      */
-    private static final TimeZone TIMEZONE_Z = TIMEZONE_UTC;
+    private static final int FAST_PATH_MIN_YEAR = 1583;
+
+    private static final long FAST_PATH_MIN_MILLIS = daysFromCivil(FAST_PATH_MIN_YEAR, 1, 1) * MILLIS_PER_DAY
+            + MILLIS_PER_DAY; // one day of margin for time zone offsets
     
     /*
     /**********************************************************
@@ -97,14 +103,57 @@ class ISO8601Utils
      * @return the date formatted as yyyy-MM-ddThh:mm:ss[.sss][Z|[+-]hh:mm]
      */
     public static String format(Date date, boolean millis, TimeZone tz) {
+        long time = date.getTime();
+        if (time < FAST_PATH_MIN_MILLIS) {
+            return formatWithCalendar(date, millis, tz);
+        }
+
+        int offset = tz.getOffset(time);
+        long localTime = time + offset;
+        long epochDay = floorDiv(localTime, MILLIS_PER_DAY);
+        int millisOfDay = (int) (localTime - epochDay * MILLIS_PER_DAY);
+
+        // civil-from-days (H. Hinnant), with days shifted to start on 0000-03-01
+        long shiftedDay = epochDay + 719468;
+        long era = floorDiv(shiftedDay, 146097);
+        int dayOfEra = (int) (shiftedDay - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        StringBuilder formatted = new StringBuilder(estimateCapacity(millis, tz));
+        padInt(formatted, year, "yyyy".length());
+        formatted.append('-');
+        padInt(formatted, month, "MM".length());
+        formatted.append('-');
+        padInt(formatted, day, "dd".length());
+        formatted.append('T');
+        padInt(formatted, millisOfDay / 3600000, "hh".length());
+        formatted.append(':');
+        padInt(formatted, (millisOfDay / 60000) % 60, "mm".length());
+        formatted.append(':');
+        padInt(formatted, (millisOfDay / 1000) % 60, "ss".length());
+        if (millis) {
+            formatted.append('.');
+            padInt(formatted, millisOfDay % 1000, "sss".length());
+        }
+        appendOffset(formatted, offset);
+
+        return formatted.toString();
+    }
+
+    /**
+     * Calendar-based version of {@link #format(Date, boolean, TimeZone)}, used for dates
+     * before {@link #FAST_PATH_MIN_YEAR}.
+     */
+    static String formatWithCalendar(Date date, boolean millis, TimeZone tz) {
         Calendar calendar = new GregorianCalendar(tz, Locale.US);
         calendar.setTime(date);
 
-        // estimate capacity of buffer as close as we can (yeah, that's pedantic ;)
-        int capacity = "yyyy-MM-ddThh:mm:ss".length();
-        capacity += millis ? ".sss".length() : 0;
-        capacity += tz.getRawOffset() == 0 ? "Z".length() : "+hh:mm".length();
-        StringBuilder formatted = new StringBuilder(capacity);
+        StringBuilder formatted = new StringBuilder(estimateCapacity(millis, tz));
 
         padInt(formatted, calendar.get(Calendar.YEAR), "yyyy".length());
         formatted.append('-');
@@ -121,8 +170,20 @@ class ISO8601Utils
             formatted.append('.');
             padInt(formatted, calendar.get(Calendar.MILLISECOND), "sss".length());
         }
+        appendOffset(formatted, tz.getOffset(calendar.getTimeInMillis()));
+
+        return formatted.toString();
+    }
+
+    private static int estimateCapacity(boolean millis, TimeZone tz) {
+        // estimate capacity of buffer as close as we can (yeah, that's pedantic ;)
+        int capacity = "yyyy-MM-ddThh:mm:ss".length();
+        capacity += millis ? ".sss".length() : 0;
+        capacity += tz.getRawOffset() == 0 ? "Z".length() : "+hh:mm".length();
+        return capacity;
+    }
 
-        int offset = tz.getOffset(calendar.getTimeInMillis());
+    private static void appendOffset(StringBuilder formatted, int offset) {
         if (offset != 0) {
             int hours = Math.abs((offset / (60 * 1000)) / 60);
             int minutes = Math.abs((offset / (60 * 1000)) % 60);
@@ -133,8 +194,6 @@ class ISO8601Utils
         } else {
             formatted.append('Z');
         }
-
-        return formatted.toString();
     }
 
     /*
@@ -233,58 +292,39 @@ class ISO8601Utils
                 throw new IllegalArgumentException("No time zone indicator");
             }
 
-            TimeZone timezone = null;
+            int timezoneOffsetMillis;
             char timezoneIndicator = date.charAt(offset);
 
             if (timezoneIndicator == 'Z') {
-                timezone = TIMEZONE_Z;
+                timezoneOffsetMillis = 0;
                 offset += 1;
             } else if (timezoneIndicator == '+' || timezoneIndicator == '-') {
-                String timezoneOffset = date.substring(offset);
-                offset += timezoneOffset.length();
-                // 18-Jun-2015, tatu: Minor simplification, skip offset of "+0000"/"+00:00"
-                if ("+0000".equals(timezoneOffset) || "+00:00".equals(timezoneOffset)) {
-                    timezone = TIMEZONE_Z;
-                } else {
-                    // 18-Jun-2015, tatu: Looks like offsets only work from GMT, not UTC...
-                    //    not sure why, but that's the way it looks. Further, Javadocs for
-                    //    `java.util.TimeZone` specifically instruct use of GMT as base for
-                    //    custom timezones... odd.
-                    String timezoneId = "GMT" + timezoneOffset;
-//                    String timezoneId = "UTC" + timezoneOffset;
-
-                    timezone = TimeZone.getTimeZone(timezoneId);
-
-                    String act = timezone.getID();
-                    if (!act.equals(timezoneId)) {
-                        /* 22-Jan-2015, tatu: Looks like canonical version has colons, but we may be given
-                         *    one without. If so, don't sweat.
-                         *   Yes, very inefficient. Hopefully not hit often.
-                         *   If it becomes a perf problem, add 'loose' comparison instead.
-                         */
-                        String cleaned = act.replace(":", "");
-                        if (!cleaned.equals(timezoneId)) {
-                            throw new IndexOutOfBoundsException("Mismatching time zone indicator: "+timezoneId+" given, resolves to "
-                                    +timezone.getID());
-                        }
-                    }
-                }
+                timezoneOffsetMillis = parseTimezoneOffset(date, offset);
+                offset = date.length();
             } else {
                 throw new IndexOutOfBoundsException("Invalid time zone indicator '" + timezoneIndicator+"'");
             }
 
-            Calendar calendar = new GregorianCalendar(timezone);
-            calendar.setLenient(false);
-            calendar.set(Calendar.YEAR, year);
-            calendar.set(Calendar.MONTH, month - 1);
-            calendar.set(Calendar.DAY_OF_MONTH, day);
-            calendar.set(Calendar.HOUR_OF_DAY, hour);
-            calendar.set(Calendar.MINUTE, minutes);
-            calendar.set(Calendar.SECOND, seconds);
-            calendar.set(Calendar.MILLISECOND, milliseconds);
+            long time;
+            if (year >= FAST_PATH_MIN_YEAR) {
+                checkFields(year, month, day, hour, minutes, seconds);
+                time = daysFromCivil(year, month, day) * MILLIS_PER_DAY
+                        + ((hour * 60L + minutes) * 60 + seconds) * 1000 + milliseconds;
+            } else {
+                Calendar calendar = new GregorianCalendar(TIMEZONE_UTC);
+                calendar.setLenient(false);
+                calendar.set(Calendar.YEAR, year);
+                calendar.set(Calendar.MONTH, month - 1);
+                calendar.set(Calendar.DAY_OF_MONTH, day);
+                calendar.set(Calendar.HOUR_OF_DAY, hour);
+                calendar.set(Calendar.MINUTE, minutes);
+                calendar.set(Calendar.SECOND, seconds);
+                calendar.set(Calendar.MILLISECOND, milliseconds);
+                time = calendar.getTimeInMillis();
+            }
 
             pos.setIndex(offset);
-            return calendar.getTime();
+            return new Date(time - timezoneOffsetMillis);
             // If we get a ParseException it'll already have the right message/offset.
             // Other exception types can convert here.
         } catch (IndexOutOfBoundsException e) {
@@ -304,6 +344,102 @@ class ISO8601Utils
         throw ex;
     }
 
+    /**
+     * Parses a time zone offset starting at {@code offset} and running to the end of the
+     * string. Accepts the same offsets as a 'GMT' custom time zone ID whose canonical
+     * form matches the input, with or without the colon: [+-]hh[:]mm with hours up to
+     * 23 and minutes up to 59.
+     *
+     * @return the offset in milliseconds
+     */
+    private static int parseTimezoneOffset(String value, int offset) {
+        int length = value.length() - offset;
+        boolean hasColon = length == "+hh:mm".length() && value.charAt(offset + 3) == ':';
+        if (length != "+hhmm".length() && !hasColon) {
+            throw mismatchingTimezone(value, offset);
+        }
+        int minutesOffset = hasColon ? offset + 4 : offset + 3;
+        int hours = parseOffsetDigits(value, offset + 1);
+        int minutes = parseOffsetDigits(value, minutesOffset);
+        if (hours < 0 || minutes < 0 || hours > 23 || minutes > 59) {
+            throw mismatchingTimezone(value, offset);
+        }
+
+        int offsetMillis = (hours * 60 + minutes) * 60 * 1000;
+        return (value.charAt(offset) == '-') ? -offsetMillis : offsetMillis;
+    }
+
+    /**
+     * Returns the two-digit number at the offset, or -1 if they're not digits.
+     */
+    private static int parseOffsetDigits(String value, int offset) {
+        char tens = value.charAt(offset);
+        char units = value.charAt(offset + 1);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    private static IndexOutOfBoundsException mismatchingTimezone(String value, int offset) {
+        return new IndexOutOfBoundsException("Mismatching time zone indicator: GMT" + value.substring(offset)
+                + " given");
+    }
+
+    /**
+     * Applies the same field validation as a non-lenient {@link GregorianCalendar}.
+     */
+    private static void checkFields(int year, int month, int day, int hour, int minutes, int seconds) {
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("MONTH");
+        }
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            throw new IllegalArgumentException("DAY_OF_MONTH");
+        }
+        if (hour > 23) {
+            throw new IllegalArgumentException("HOUR_OF_DAY");
+        }
+        if (minutes > 59) {
+            throw new IllegalArgumentException("MINUTE");
+        }
+        if (seconds > 59) {
+            throw new IllegalArgumentException("SECOND");
+        }
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+            return leap ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Returns the number of days since 1970-01-01 for a date in the proleptic Gregorian
+     * calendar (days-from-civil, H. Hinnant).
+     */
+    static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = floorDiv(y, 400);
+        int yearOfEra = (int) (y - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return ((x % y) != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
     /**
      * Check if the expected character exist at the given offset in the value.
      * 
@@ -359,11 +495,22 @@ class ISO8601Utils
      * @param length the length of the string we should zero pad
      */
     private static void padInt(StringBuilder buffer, int value, int length) {
-        String strValue = Integer.toString(value);
-        for (int i = length - strValue.length(); i > 0; i--) {
+        if (value < 0) {
+            String strValue = Integer.toString(value);
+            for (int i = length - strValue.length(); i > 0; i--) {
+                buffer.append('0');
+            }
+            buffer.append(strValue);
+            return;
+        }
+        int digits = 1;
+        for (int remaining = value; remaining >= 10; remaining /= 10) {
+            digits++;
+        }
+        for (int i = length - digits; i > 0; i--) {
             buffer.append('0');
         }
-        buffer.append(strValue);
+        buffer.append(value);
     }
 
     /**
@@ -17,6 +17,7 @@ package au.com.innodev.wmboost.data.convert;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.util.NumberUtils;
 
 import au.com.innodev.wmboost.data.internal.Preconditions;
 
@@ -33,7 +34,9 @@ final class NumberConverterGenerator<M, S extends Number> {
 		this.conversionService = Preconditions.checkNotNull(conversionService);
 	}
 	
-	// Converts number to the expected intermediate type (e.g. Integer). Then it converts it to the target type (e.g. MInteger)
+	// Converts number to the expected intermediate type (e.g. Integer). Then it converts it to the target type (e.g. MInteger).
+	// The intermediate conversion uses the same NumberUtils methods as Spring's default converters, but it's done
+	// directly instead of through a nested conversion service lookup.
 	
 	public void addToMConverters(Converter<S, M> scalarToTargetConverter)  {
 		addNumberToMConverter(scalarToTargetConverter);
@@ -47,7 +50,7 @@ final class NumberConverterGenerator<M, S extends Number> {
 				new Converter<Number, M>() {
 				@Override
 				public M convert(Number number) {
-					S intermediateValue = conversionService.convert(number, scalarType);
+					S intermediateValue = NumberUtils.convertNumberToTargetClass(number, scalarType);
 					return scalarToTargetConverter.convert(intermediateValue);	
 				}
 			};
@@ -60,7 +63,7 @@ final class NumberConverterGenerator<M, S extends Number> {
 				new Converter<String, M>() {
 			@Override
 			public M convert(String numberStr) {
-				S intermediateValue = conversionService.convert(numberStr, scalarType);
+				S intermediateValue = NumberUtils.parseNumber(numberStr, scalarType);
 				return scalarToTargetConverter.convert(intermediateValue);
 				
 			}
@@ -71,5 +74,3 @@ final class NumberConverterGenerator<M, S extends Number> {
 	
 	
 }
-
-
@@ -1,6 +1,7 @@
 package au.com.innodev.wmboost.data;
 
 import static au.com.innodev.wmboost.data.TestUtil.newIDataWithValue;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -13,6 +14,7 @@ import org.junit.Test;
 import com.google.common.collect.Lists;
 import com.wm.data.IData;
 import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
 
 import au.com.innodev.wmboost.data.preset.DocumentFactories;
 
@@ -129,4 +131,66 @@ public class CollectionEntryTest {
 
 		assertEquals(expected, document.intsEntry("inexistentEntry").getValOrDefault(Lists.newArrayList(9)));
 	}
+
+	@Test
+	public void testPutListOfMatchingElementsIsCopiedToArray() {
+		IData idata = IDataFactory.create();
+		Document document = docFactory.wrap(idata);
+		List<String> value = Lists.newArrayList("a", null, "c");
+		document.stringsEntry("value1").put(value);
+		value.set(0, "x");
+
+		Object stored = IDataUtil.get(idata.getCursor(), "value1");
+		assertEquals(String[].class, stored.getClass());
+		assertArrayEquals(new String[] { "a", null, "c" }, (String[]) stored);
+	}
+
+	@Test
+	public void testPutListOfOtherElementsIsConverted() {
+		IData idata = IDataFactory.create();
+		Document document = docFactory.wrap(idata);
+		document.collectionEntry("value1", String.class).putConverted(Lists.newArrayList("a", 2));
+
+		assertArrayEquals(new String[] { "a", "2" }, (String[]) IDataUtil.get(idata.getCursor(), "value1"));
+	}
+
+	@Test
+	public void testPutDocumentsIsUnwrapped() {
+		IData idata = IDataFactory.create();
+		Document document = docFactory.wrap(idata);
+		Document first = docFactory.create();
+		Document second = docFactory.create();
+		document.docsEntry("value1").put(Lists.newArrayList(first, null, second));
+		document.entry("value2").put(Lists.newArrayList(first, second));
+		document.entry("value3").put(new Document[] { second, null });
+
+		assertArrayEquals(new IData[] { first.getIData(), null, second.getIData() },
+				(IData[]) IDataUtil.get(idata.getCursor(), "value1"));
+		assertArrayEquals(new IData[] { first.getIData(), second.getIData() },
+				(IData[]) IDataUtil.get(idata.getCursor(), "value2"));
+		assertArrayEquals(new IData[] { second.getIData(), null },
+				(IData[]) IDataUtil.get(idata.getCursor(), "value3"));
+	}
+
+	@Test
+	public void testTypedValuesAreReadOnly() {
+		IData idata = newIDataWithValue(new String[] { "1", "2" });
+		Document document = docFactory.wrap(idata);
+
+		List<List<?>> lists = Lists.newArrayList();
+		lists.add(document.stringsEntry("value1").getVal());
+		lists.add(document.intsEntry("value1").getVal());
+		lists.add(document.collectionEntry("value1").getVal());
+		lists.add(document.entry("value1", List.class).getVal());
+		for (List<?> list : lists) {
+			try {
+				list.clear();
+				fail();
+			}
+			catch (UnsupportedOperationException e) {
+				// expected
+			}
+		}
+		assertArrayEquals(new String[] { "1", "2" }, (String[]) IDataUtil.get(idata.getCursor(), "value1"));
+	}
 }
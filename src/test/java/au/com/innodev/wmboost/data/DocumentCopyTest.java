@@ -0,0 +1,136 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class DocumentCopyTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	@Test
+	public void testCopyIsIndependent() {
+		Document document = docFactory.create();
+		document.stringEntry("name").put("John");
+		document.docEntry("address").putNew().stringEntry("city").put("Sydney");
+		Document line = docFactory.create();
+		line.intEntry("quantity").put(2);
+		document.docsEntry("lines").put(Lists.newArrayList(line));
+		document.stringsEntry("tags").put(Lists.newArrayList("a", "b"));
+
+		Document copy = document.deepCopy();
+		assertNotSame(document.getIData(), copy.getIData());
+		assertEquals("John", copy.stringEntry("name").getVal());
+		assertEquals("Sydney", copy.docEntry("address").getVal().stringEntry("city").getVal());
+		assertEquals(Integer.valueOf(2), copy.docsEntry("lines").getVal().get(0).intEntry("quantity").getVal());
+		assertEquals(Lists.newArrayList("a", "b"), copy.stringsEntry("tags").getVal());
+
+		// Strings are shared
+		assertSame(document.stringEntry("name").getVal(), copy.stringEntry("name").getVal());
+
+		copy.docEntry("address").getVal().stringEntry("city").put("Melbourne");
+		copy.docsEntry("lines").getVal().get(0).intEntry("quantity").put(3);
+		assertEquals("Sydney", document.docEntry("address").getVal().stringEntry("city").getVal());
+		assertEquals(Integer.valueOf(2), line.intEntry("quantity").getVal());
+		assertNotSame(IDataUtil.get(document.getIData().getCursor(), "tags"),
+				IDataUtil.get(copy.getIData().getCursor(), "tags"));
+	}
+
+	@Test
+	public void testCopyDoesNotMaterialiseForks() {
+		Document base = docFactory.create();
+		base.stringEntry("name").put("John");
+		Document fork = docFactory.fork(base);
+		IData holder = IDataFactory.create();
+		IDataUtil.put(holder.getCursor(), "nested", fork);
+
+		Document copy = docFactory.wrap(holder).deepCopy();
+		Document nestedCopy = copy.docEntry("nested").getVal();
+		assertEquals("John", nestedCopy.stringEntry("name").getVal());
+		assertSame(base.getIData(), ((DocumentImpl) fork).getReadableIData());
+
+		fork.deepCopy();
+		assertSame(base.getIData(), ((DocumentImpl) fork).getReadableIData());
+	}
+
+	@Test
+	public void testRepeatedKeysAndOrderArePreserved() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", "1");
+		cursor.insertAfter("other", "x");
+		cursor.insertAfter("item", "2");
+		cursor.destroy();
+
+		Document copy = docFactory.copyOf(docFactory.wrap(idata));
+		assertEquals(3, copy.getTotalEntries());
+		assertEquals(Lists.newArrayList("1", "2"), copy.stringsSplitEntry("item").getValOrEmpty());
+	}
+
+	@Test
+	public void testDatesAndPrimitiveArraysAreCopied() {
+		Date date = new Date(1000);
+		int[] numbers = new int[] { 1, 2 };
+		Document document = docFactory.create();
+		document.legacyDateEntry("date").put(date);
+		document.entry("numbers").put(numbers);
+
+		IData copy = document.deepCopy().getIData();
+		Date copiedDate = (Date) IDataUtil.get(copy.getCursor(), "date");
+		int[] copiedNumbers = (int[]) IDataUtil.get(copy.getCursor(), "numbers");
+		assertEquals(date, copiedDate);
+		assertNotSame(date, copiedDate);
+		assertArrayEquals(numbers, copiedNumbers);
+		assertNotSame(numbers, copiedNumbers);
+	}
+
+	@Test
+	public void testSharedAndCyclicReferences() {
+		IData shared = IDataFactory.create();
+		IData root = IDataFactory.create();
+		IDataCursor cursor = root.getCursor();
+		cursor.insertAfter("first", shared);
+		cursor.insertAfter("second", shared);
+		cursor.insertAfter("self", root);
+		cursor.destroy();
+
+		IData copy = docFactory.wrap(root).deepCopy().getIData();
+		IData copiedFirst = (IData) IDataUtil.get(copy.getCursor(), "first");
+		assertNotSame(shared, copiedFirst);
+		assertSame(copiedFirst, IDataUtil.get(copy.getCursor(), "second"));
+		assertSame(copy, IDataUtil.get(copy.getCursor(), "self"));
+	}
+
+	@Test
+	public void testDeeplyNestedDocument() {
+		int depth = 20000;
+		IData root = IDataFactory.create();
+		IData current = root;
+		for (int i = 0; i < depth; i++) {
+			IData child = IDataFactory.create();
+			IDataUtil.put(current.getCursor(), "child", new IData[] { child });
+			current = child;
+		}
+		IDataUtil.put(current.getCursor(), "leaf", "value");
+
+		IData copied = docFactory.wrap(root).deepCopy().getIData();
+		for (int i = 0; i < depth; i++) {
+			copied = ((IData[]) IDataUtil.get(copied.getCursor(), "child"))[0];
+		}
+		assertEquals("value", IDataUtil.get(copied.getCursor(), "leaf"));
+		assertFalse(copied == current);
+	}
+}
@@ -0,0 +1,93 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class DocumentEditorTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	@Test
+	public void testCommit() {
+		Document document = docFactory.create();
+		document.stringEntry("first").put("1");
+		document.stringEntry("b").put("old");
+
+		document.edit().put("a", "A").put("b", 2).put("c", null).commit();
+
+		Collection<String> expectedKeys = Lists.newArrayList("first", "b", "a", "c");
+		assertEquals(expectedKeys, Lists.newArrayList(document.getKeys()));
+		assertEquals("A", document.entry("a").getVal());
+		assertEquals(2, document.entry("b").getVal());
+		assertTrue(document.entry("c").isAssigned());
+	}
+
+	@Test
+	public void testNotAppliedBeforeCommit() {
+		Document document = docFactory.create();
+		DocumentEditor editor = document.edit().put("a", "A");
+
+		assertTrue(document.isEmpty());
+		editor.commit();
+		assertEquals(1, document.getTotalEntries());
+	}
+
+	@Test
+	public void testSameKeyPutTwice() {
+		Document document = docFactory.create();
+		document.edit().put("a", "first").put("b", "B").put("a", "second").commit();
+
+		assertEquals(Lists.newArrayList("a", "b"), Lists.newArrayList(document.getKeys()));
+		assertEquals("second", document.entry("a").getVal());
+	}
+
+	@Test
+	public void testOnlyFirstEntryIsReplaced() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("key", "first");
+		cursor.insertAfter("key", "second");
+		cursor.destroy();
+
+		docFactory.wrap(idata).edit().put("key", "new").commit();
+
+		assertEquals(Lists.newArrayList("new", "second"), docFactory.wrap(idata).stringsSplitEntry("key").getValOrEmpty());
+	}
+
+	@Test
+	public void testDocumentsAreNormalised() {
+		Document nested = docFactory.create();
+		nested.stringEntry("a").put("b");
+		Document document = docFactory.create();
+
+		document.edit().put("nested", nested).put("list", Lists.newArrayList(nested)).commit();
+
+		IDataCursor cursor = document.getIData().getCursor();
+		assertTrue(IDataUtil.get(cursor, "nested") instanceof IData);
+		assertTrue(IDataUtil.get(cursor, "list") instanceof IData[]);
+		cursor.destroy();
+	}
+
+	@Test
+	public void testReuseAfterCommit() {
+		Document document = docFactory.create();
+		DocumentEditor editor = document.edit();
+		editor.put("a", "A").commit();
+		editor.put("b", "B").commit();
+		// Nothing pending
+		editor.commit();
+
+		assertEquals(Lists.newArrayList("a", "b"), Lists.newArrayList(document.getKeys()));
+	}
+}
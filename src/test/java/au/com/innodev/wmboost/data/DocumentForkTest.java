@@ -0,0 +1,187 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class DocumentForkTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	private Document createBase() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("name", "John");
+		cursor.insertAfter("item", "a");
+		cursor.insertAfter("age", "30");
+		cursor.insertAfter("item", "b");
+		cursor.destroy();
+		return docFactory.wrap(idata);
+	}
+
+	@Test
+	public void testReadsBaseUntilModified() {
+		Document base = createBase();
+		Document fork = docFactory.fork(base);
+
+		assertEquals("John", fork.stringEntry("name").getVal());
+		assertEquals(Integer.valueOf(30), fork.intEntry("age").getVal());
+		assertEquals(Lists.newArrayList("a", "b"), fork.stringsSplitEntry("item").getValOrEmpty());
+		assertEquals(4, fork.getTotalEntries());
+	}
+
+	@Test
+	public void testChangesAreNotVisibleInBase() {
+		Document base = createBase();
+		Document fork = docFactory.fork(base);
+
+		fork.stringEntry("name").put("Jane");
+		fork.stringEntry("extra").put("x");
+		fork.entry("age").remove();
+		fork.stringsSplitEntry("item").put(Lists.newArrayList("c"));
+
+		assertEquals("Jane", fork.stringEntry("name").getVal());
+		assertEquals("x", fork.stringEntry("extra").getVal());
+		assertFalse(fork.containsKey("age"));
+		assertEquals(Lists.newArrayList("c"), fork.stringsSplitEntry("item").getValOrEmpty());
+
+		assertEquals("John", base.stringEntry("name").getVal());
+		assertFalse(base.containsKey("extra"));
+		assertTrue(base.containsKey("age"));
+		assertEquals(Lists.newArrayList("a", "b"), base.stringsSplitEntry("item").getValOrEmpty());
+	}
+
+	@Test
+	public void testBatchWritesAndClear() {
+		Document base = createBase();
+		Document fork = docFactory.fork(base);
+		fork.edit().put("name", "Jane").commit();
+		assertEquals("Jane", fork.stringEntry("name").getVal());
+
+		Document other = docFactory.fork(base);
+		other.clear();
+		assertTrue(other.isEmpty());
+
+		assertEquals("John", base.stringEntry("name").getVal());
+		assertEquals(4, base.getTotalEntries());
+	}
+
+	@Test
+	public void testGetIDataMaterialises() {
+		Document base = createBase();
+		Document fork = docFactory.fork(base);
+
+		IData forkIData = fork.getIData();
+		assertNotSame(base.getIData(), forkIData);
+		assertSame(forkIData, fork.getIData());
+
+		// Changes made directly to the IData are visible through the fork only
+		IDataCursor cursor = forkIData.getCursor();
+		cursor.insertAfter("direct", "y");
+		cursor.destroy();
+		assertEquals("y", fork.stringEntry("direct").getVal());
+		assertFalse(base.containsKey("direct"));
+	}
+
+	@Test
+	public void testManyForksShareBase() {
+		Document base = createBase();
+		Document first = docFactory.fork(base);
+		Document second = docFactory.fork(base);
+
+		first.stringEntry("name").put("First");
+		second.stringEntry("name").put("Second");
+		Document forkOfFork = docFactory.fork(second);
+		forkOfFork.stringEntry("name").put("Third");
+
+		assertEquals("First", first.stringEntry("name").getVal());
+		assertEquals("Second", second.stringEntry("name").getVal());
+		assertEquals("Third", forkOfFork.stringEntry("name").getVal());
+		assertEquals("John", base.stringEntry("name").getVal());
+	}
+
+	private Document createNestedBase() {
+		Document base = docFactory.create();
+		Document address = base.docEntry("address").putNew();
+		address.stringEntry("city").put("Sydney");
+		address.docEntry("geo").putNew().stringEntry("lat").put("-33.8");
+		Document first = docFactory.create();
+		first.stringEntry("name").put("a");
+		Document second = docFactory.create();
+		second.stringEntry("name").put("b");
+		base.docsEntry("items").put(Lists.newArrayList(first, second));
+		return base;
+	}
+
+	@Test
+	public void testNestedChangesAreNotVisibleInBaseOrSiblings() {
+		Document base = createNestedBase();
+		Document fork = docFactory.fork(base);
+		Document sibling = docFactory.fork(base);
+
+		fork.docEntry("address").getVal().stringEntry("city").put("Melbourne");
+		fork.docEntry("address").getVal().docEntry("geo").getVal().stringEntry("lat").put("-37.8");
+		fork.docsEntry("items").getVal().get(1).stringEntry("name").put("c");
+
+		assertEquals("Melbourne", fork.path("address/city", String.class));
+		assertEquals("-37.8", fork.path("address/geo/lat", String.class));
+		assertEquals("c", fork.path("items[1]/name", String.class));
+		assertEquals("a", fork.path("items[0]/name", String.class));
+
+		for (Document other : Lists.newArrayList(base, sibling)) {
+			assertEquals("Sydney", other.path("address/city", String.class));
+			assertEquals("-33.8", other.path("address/geo/lat", String.class));
+			assertEquals("b", other.path("items[1]/name", String.class));
+		}
+	}
+
+	@Test
+	public void testNestedDocumentKeepsWritingToFork() {
+		Document base = createNestedBase();
+		Document fork = docFactory.fork(base);
+
+		Document address = fork.docEntry("address").getVal();
+		Document geo = address.docEntry("geo").getVal();
+		address.stringEntry("city").put("Melbourne");
+		geo.stringEntry("lat").put("-37.8");
+		fork.path("address", Document.class).stringEntry("postcode").put("3000");
+
+		assertEquals("Melbourne", fork.path("address/city", String.class));
+		assertEquals("-37.8", fork.path("address/geo/lat", String.class));
+		assertEquals("3000", fork.path("address/postcode", String.class));
+		assertFalse(base.docEntry("address").getVal().containsKey("postcode"));
+		assertEquals("-33.8", base.path("address/geo/lat", String.class));
+	}
+
+	@Test
+	public void testNestedChangesThroughIDataAreNotVisibleInBase() {
+		Document base = createNestedBase();
+		Document fork = docFactory.fork(base);
+		Document address = fork.docEntry("address").getVal();
+
+		IData forkIData = fork.getIData();
+		IData addressIData = (IData) IDataUtil.get(forkIData.getCursor(), "address");
+		IDataUtil.put(addressIData.getCursor(), "city", "Perth");
+		IData[] items = (IData[]) IDataUtil.get(forkIData.getCursor(), "items");
+		IDataUtil.put(items[0].getCursor(), "name", "z");
+
+		assertEquals("Perth", fork.path("address/city", String.class));
+		assertEquals("z", fork.path("items[0]/name", String.class));
+		// Documents read before are updated
+		assertEquals("Perth", address.stringEntry("city").getVal());
+
+		assertEquals("Sydney", base.path("address/city", String.class));
+		assertEquals("a", base.path("items[0]/name", String.class));
+	}
+}
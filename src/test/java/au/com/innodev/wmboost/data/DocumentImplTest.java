@@ -1,10 +1,12 @@
 package au.com.innodev.wmboost.data;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import com.wm.data.IData;
+import com.wm.data.IDataCursor;
 import com.wm.data.IDataFactory;
 import com.wm.data.IDataUtil;
 
@@ -25,4 +27,27 @@ public class DocumentImplTest {
 		String str = document.toString();
 		assertTrue(str.contains("2 entries"));
 	}
+
+	@Test
+	public void testClear()
+	{
+		IData iData = IDataFactory.create();
+		IDataCursor cursor = iData.getCursor();
+		for (int i = 0; i < 1000; i++) {
+			cursor.insertAfter("key" + (i % 10), i);
+		}
+		cursor.destroy();
+		
+		Document document = Documents.wrap(iData);
+		assertEquals(1000, document.getTotalEntries());
+		
+		document.clear();
+		assertTrue(document.isEmpty());
+		assertEquals(0, document.getTotalEntries());
+		assertEquals(0, IDataUtil.size(iData.getCursor()));
+		
+		// Clearing an empty document is fine
+		document.clear();
+		assertTrue(document.isEmpty());
+	}
 }
@@ -0,0 +1,139 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.convert.ConversionServiceUtils;
+import au.com.innodev.wmboost.data.preset.DirectIDataFactories;
+
+public class DocumentKeyIndexTest {
+
+	private final DocumentFactory docFactory = createFactory();
+
+	private static DocumentFactory createFactory() {
+		DocumentFactoryBuilder builder = new DocumentFactoryBuilder();
+		builder.setConversionService(ConversionServiceUtils.createDefaultConversionService());
+		builder.setDirectIDataFactory(DirectIDataFactories.getWmDefaultRuntimeFactory());
+		builder.setKeyIndexEnabled(true);
+		return builder.build();
+	}
+
+	@Test
+	public void testLookups() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("a", "1");
+		cursor.insertAfter("b", null);
+		cursor.insertAfter("a", "2");
+		cursor.destroy();
+		Document document = docFactory.wrap(idata);
+
+		assertEquals(Integer.valueOf(1), document.intEntry("a").getVal());
+		assertTrue(document.containsKey("b"));
+		assertTrue(document.entry("b").isAssigned());
+		assertFalse(document.containsKey("c"));
+		assertEquals("default", document.stringEntry("c").getValOrDefault("default"));
+		assertEquals(Lists.newArrayList("a", "b"), Lists.newArrayList(document.getKeys()));
+		assertEquals("1", document.getValues("a", "c").getVal("a", String.class));
+		assertEquals(Lists.newArrayList("1", "2"), document.stringsSplitEntry("a").getValOrEmpty());
+		assertTrue(document.stringsSplitEntry("c").getValOrEmpty().isEmpty());
+		assertFalse(document.isEmpty());
+	}
+
+	@Test
+	public void testChangesThroughDocument() {
+		Document document = docFactory.create();
+		assertFalse(document.containsKey("a"));
+
+		document.stringEntry("a").put("1");
+		assertEquals("1", document.stringEntry("a").getVal());
+
+		document.stringEntry("a").put("2");
+		assertEquals("2", document.stringEntry("a").getVal());
+
+		document.edit().put("a", "3").put("b", "4").commit();
+		assertEquals("3", document.stringEntry("a").getVal());
+		assertEquals("4", document.stringEntry("b").getVal());
+
+		document.stringsSplitEntry("a").put(Lists.newArrayList("5", "6"));
+		assertEquals("5", document.stringEntry("a").getVal());
+		assertEquals(Lists.newArrayList("b", "a"), Lists.newArrayList(document.getKeys()));
+
+		document.stringEntry("a").remove();
+		assertEquals("6", document.stringEntry("a").getVal());
+
+		document.splitEntry("a").remove();
+		assertFalse(document.containsKey("a"));
+
+		document.clear();
+		assertTrue(document.isEmpty());
+		assertFalse(document.containsKey("b"));
+	}
+
+	@Test
+	public void testTotalEntries() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("a", "1");
+		cursor.insertAfter("a", "2");
+		cursor.destroy();
+		Document document = docFactory.wrap(idata);
+		assertEquals(2, document.getTotalEntries());
+
+		document.stringEntry("a").put("3");
+		assertEquals(2, document.getTotalEntries());
+
+		document.stringEntry("b").put("4");
+		document.edit().put("a", "5").put("c", "6").commit();
+		assertEquals(4, document.getTotalEntries());
+		assertTrue(document.toString().contains("4 entries"));
+
+		document.stringsSplitEntry("a").put(Lists.newArrayList("7", "8", "9"));
+		assertEquals(5, document.getTotalEntries());
+
+		document.clear();
+		assertEquals(0, document.getTotalEntries());
+	}
+
+	@Test
+	public void testClearKeepsIndexUsable() {
+		Document document = docFactory.create();
+		for (int i = 0; i < 3; i++) {
+			assertTrue(document.isEmpty());
+			document.stringEntry("a").put("1");
+			document.stringEntry("b").put("2");
+			assertEquals("1", document.stringEntry("a").getVal());
+			assertEquals(2, document.getTotalEntries());
+			assertFalse(document.isEmpty());
+
+			document.clear();
+			assertFalse(document.containsKey("a"));
+			assertEquals(0, document.getTotalEntries());
+		}
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		DocumentFactoryBuilder builder = new DocumentFactoryBuilder();
+		builder.setConversionService(ConversionServiceUtils.createDefaultConversionService());
+		builder.setDirectIDataFactory(DirectIDataFactories.getWmDefaultRuntimeFactory());
+		Document document = builder.build().create();
+		document.stringEntry("a").put("1");
+
+		// Direct changes are visible without the index
+		IDataCursor cursor = document.getIData().getCursor();
+		cursor.first("a");
+		cursor.setValue("2");
+		cursor.destroy();
+
+		assertEquals("2", document.stringEntry("a").getVal());
+	}
+}
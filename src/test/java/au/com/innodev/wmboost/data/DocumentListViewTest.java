@@ -0,0 +1,95 @@
+package au.com.innodev.wmboost.data;
+
+import static au.com.innodev.wmboost.data.TestUtil.newIDataWithValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class DocumentListViewTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	@Test
+	public void testDocsEntryIsBackedByArray() {
+		IData[] array = new IData[] { IDataFactory.create(), null, IDataFactory.create() };
+		Document document = docFactory.wrap(newIDataWithValue(array));
+
+		List<Document> docs = document.docsEntry("value1").getVal();
+		assertEquals(3, docs.size());
+		assertSame(array[0], docs.get(0).getIData());
+		assertNull(docs.get(1));
+
+		// Wrappers are cached
+		assertSame(docs.get(2), docs.get(2));
+
+		// Not yet wrapped elements reflect changes to the array
+		IData replacement = IDataFactory.create();
+		array[1] = replacement;
+		assertSame(replacement, docs.get(1).getIData());
+	}
+
+	@Test
+	public void testEntryOfIDataArray() {
+		IData[] array = new IData[] { IDataFactory.create() };
+		Document document = docFactory.wrap(newIDataWithValue(array));
+
+		@SuppressWarnings("unchecked")
+		List<Document> docs = (List<Document>) document.entry("value1").getVal();
+		assertSame(array[0], docs.get(0).getIData());
+	}
+
+	@Test
+	public void testEntryOfObjectArray() {
+		String[] array = new String[] { "a", "b" };
+		Document document = docFactory.wrap(newIDataWithValue(array));
+
+		assertEquals(Lists.newArrayList("a", "b"), document.entry("value1").getVal());
+
+		array[0] = "c";
+		assertEquals(Lists.newArrayList("c", "b"), document.entry("value1").getVal());
+	}
+
+	@Test
+	public void testViewsAreReadOnly() {
+		Document document = docFactory.wrap(newIDataWithValue(new IData[] { IDataFactory.create() }));
+		try {
+			document.docsEntry("value1").getVal().add(docFactory.create());
+			fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// pass
+		}
+
+		document = docFactory.wrap(newIDataWithValue(new Object[] { "a" }));
+		@SuppressWarnings("unchecked")
+		List<Object> list = (List<Object>) document.entry("value1").getVal();
+		try {
+			list.set(0, "b");
+			fail();
+		}
+		catch (UnsupportedOperationException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testViewCanBePutBack() {
+		IData[] array = new IData[] { IDataFactory.create(), IDataFactory.create() };
+		Document document = docFactory.wrap(newIDataWithValue(array));
+
+		List<Document> docs = document.docsEntry("value1").getVal();
+		document.docsEntry("value2").put(docs);
+
+		assertSame(array[1], document.docsEntry("value2").getVal().get(1).getIData());
+	}
+}
@@ -0,0 +1,138 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class DocumentPathTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	private Document createOrder() {
+		Document order = docFactory.create();
+		order.stringEntry("id").put("A1");
+		Document customer = order.docEntry("customer").putNew();
+		customer.stringEntry("name").put("John");
+
+		Document line0 = docFactory.create();
+		line0.stringEntry("product").put("P0");
+		Document line1 = docFactory.create();
+		line1.stringEntry("product").put("P1");
+		line1.stringEntry("quantity").put("3");
+		line1.stringsEntry("tags").put(Lists.newArrayList("x", "y"));
+		order.docsEntry("lines").put(Lists.newArrayList(line0, line1));
+		order.stringEntry("nothing").put(null);
+
+		Document root = docFactory.create();
+		root.docEntry("order").put(order);
+		return root;
+	}
+
+	@Test
+	public void testPath() {
+		Document root = createOrder();
+
+		assertEquals("A1", root.path("order/id", String.class));
+		assertEquals("John", root.path("order/customer/name", String.class));
+		assertEquals("P1", root.path("order/lines[1]/product", String.class));
+		assertEquals(Integer.valueOf(3), root.path("order/lines[1]/quantity", Integer.class));
+		assertEquals("y", root.path("order/lines[1]/tags[1]", String.class));
+		assertNull(root.path("order/nothing", String.class));
+	}
+
+	@Test
+	public void testCompiledPathIsReusable() {
+		DocumentPath path = DocumentPath.compile("order/lines[0]/product");
+		assertEquals("order/lines[0]/product", path.getExpression());
+
+		assertEquals("P0", createOrder().path(path, String.class));
+		assertEquals("P0", createOrder().path(path, String.class));
+	}
+
+	@Test
+	public void testFinalValueIsConverted() {
+		Document root = createOrder();
+
+		Document line = root.path("order/lines[1]", Document.class);
+		assertEquals("P1", line.stringEntry("product").getVal());
+
+		IData customer = root.docEntry("order").getVal().docEntry("customer").getVal().getIData();
+		assertSame(customer, root.path("order/customer", Document.class).getIData());
+		assertEquals(Lists.newArrayList("x", "y"), root.path("order/lines[1]/tags", Object.class));
+	}
+
+	@Test
+	public void testCollectionTypedFinalValue() {
+		Document root = createOrder();
+
+		Document order = root.docEntry("order").getVal();
+		assertEquals(order.entry("lines", List.class).getVal(), root.path("order/lines", List.class));
+		assertEquals(order.docsEntry("lines").getVal().get(1).entry("tags", List.class).getVal(),
+				root.path("order/lines[1]/tags", List.class));
+		assertEquals(Lists.newArrayList("x", "y"), root.path("order/lines[1]/tags", List.class));
+	}
+
+	@Test
+	public void testMissingSteps() {
+		Document root = createOrder();
+		String[] paths = { "missing", "order/missing/name", "order/lines[2]/product", "order/lines[0]/missing" };
+		for (String path : paths) {
+			try {
+				root.path(path, String.class);
+				fail(path);
+			}
+			catch (InexistentEntryException e) {
+				// pass
+			}
+		}
+	}
+
+	@Test
+	public void testUnexpectedValues() {
+		Document root = createOrder();
+		String[] paths = { "order/id/name", "order/id[0]", "order/nothing/name" };
+		for (String path : paths) {
+			try {
+				root.path(path, String.class);
+				fail(path);
+			}
+			catch (UnexpectedEntryValueException e) {
+				// pass
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidExpressions() {
+		String[] expressions = { "", "a//b", "/a", "a/", "a[]", "a[-1]", "a[x]", "[1]" };
+		for (String expression : expressions) {
+			try {
+				DocumentPath.compile(expression);
+				fail(expression);
+			}
+			catch (IllegalArgumentException e) {
+				// pass
+			}
+		}
+	}
+
+	@Test
+	public void testRawIDataIsTraversed() {
+		IData inner = IDataFactory.create();
+		inner.getCursor().insertAfter("value", "v");
+		IData outer = IDataFactory.create();
+		outer.getCursor().insertAfter("inner", inner);
+
+		assertEquals("v", docFactory.wrap(outer).path("inner/value", String.class));
+	}
+}
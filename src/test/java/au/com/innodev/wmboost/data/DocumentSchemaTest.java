@@ -0,0 +1,268 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class DocumentSchemaTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	@Test
+	public void testRead() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		SchemaField<String> name = builder.addRequiredField("name", String.class);
+		SchemaField<Integer> age = builder.addRequiredField("age", Integer.class);
+		SchemaField<Long> id = builder.addOptionalField("id", Long.class);
+		SchemaField<String> country = builder.addOptionalField("country", String.class, "AU");
+		DocumentSchema schema = builder.build();
+
+		IData idata = IDataFactory.create();
+		IDataUtil.put(idata.getCursor(), "other", "value");
+		IDataUtil.put(idata.getCursor(), "age", "25");
+		IDataUtil.put(idata.getCursor(), "name", "John");
+		Document document = docFactory.wrap(idata);
+
+		SchemaValues values = schema.read(document);
+		assertEquals("John", values.get(name));
+		assertEquals(Integer.valueOf(25), values.get(age));
+		assertNull(values.get(id));
+		assertEquals("AU", values.get(country));
+
+		assertTrue(values.isAssigned(name));
+		assertFalse(values.isAssigned(country));
+
+		assertArrayEquals(new Object[] { "John", 25, null, "AU" }, values.toArray());
+	}
+
+	@Test
+	public void testRead_DuplicateKeys_FirstIsUsed() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		SchemaField<String> name = builder.addRequiredField("name", String.class);
+		DocumentSchema schema = builder.build();
+
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("name", "first");
+		cursor.insertAfter("name", "second");
+		cursor.destroy();
+
+		assertEquals("first", schema.read(docFactory.wrap(idata)).get(name));
+	}
+
+	@Test
+	public void testRead_RequiredInexistent() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		builder.addRequiredField("name", String.class);
+		DocumentSchema schema = builder.build();
+
+		try {
+			schema.read(docFactory.create());
+			fail();
+		}
+		catch (InexistentEntryException e) {
+			assertTrue(e.getMessage().contains("name"));
+		}
+	}
+
+	@Test
+	public void testRead_NullValHandling() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		SchemaField<String> required = builder.addRequiredField("required", String.class);
+		SchemaField<String> withDefault = builder.addOptionalField("withDefault", String.class, "default");
+		SchemaField<String> returnNull = builder.addOptionalField("returnNull", String.class, "default",
+				NullValHandling.RETURN_NULL);
+		DocumentSchema schema = builder.build();
+
+		Document document = docFactory.create();
+		document.entry("required").put(null);
+		document.entry("withDefault").put(null);
+		document.entry("returnNull").put(null);
+
+		SchemaValues values = schema.read(document);
+		assertNull(values.get(required));
+		assertEquals("default", values.get(withDefault));
+		assertNull(values.get(returnNull));
+		assertTrue(values.isAssigned(withDefault));
+
+		DocumentSchemaBuilder failBuilder = new DocumentSchemaBuilder();
+		failBuilder.addOptionalField("required", String.class, "default", NullValHandling.FAIL);
+		try {
+			failBuilder.build().read(document);
+			fail();
+		}
+		catch (UnexpectedEntryValueException e) {
+			assertTrue(e.getMessage().contains("required"));
+		}
+	}
+
+	@Test
+	public void testRead_DocumentAndArray() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		SchemaField<Document> nested = builder.addRequiredField("nested", Document.class);
+		SchemaField<Integer[]> numbers = builder.addRequiredField("numbers", Integer[].class);
+		SchemaField<Object> object = builder.addRequiredField("object", Object.class);
+		DocumentSchema schema = builder.build();
+
+		Document nestedDoc = docFactory.create();
+		nestedDoc.stringEntry("a").put("b");
+		Document document = docFactory.create();
+		document.docEntry("nested").put(nestedDoc);
+		document.stringsEntry("numbers").put(Lists.newArrayList("1", "2"));
+		document.entry("object").put(new String[] { "x", "y" });
+
+		SchemaValues values = schema.read(document);
+		assertEquals("b", values.get(nested).stringEntry("a").getVal());
+		assertArrayEquals(new Integer[] { 1, 2 }, values.get(numbers));
+		// Same normalisation as Document.entry
+		assertEquals(Lists.newArrayList("x", "y"), values.get(object));
+	}
+
+	@Test
+	public void testWrite() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		SchemaField<String> name = builder.addRequiredField("name", String.class);
+		SchemaField<Integer> age = builder.addRequiredField("age", Integer.class);
+		SchemaField<String> country = builder.addOptionalField("country", String.class);
+		SchemaField<Document> nested = builder.addOptionalField("nested", Document.class);
+		SchemaField<String> untouched = builder.addOptionalField("untouched", String.class);
+		DocumentSchema schema = builder.build();
+
+		Document document = docFactory.create();
+		document.stringEntry("first").put("1");
+		document.stringEntry("age").put("old");
+		document.stringEntry("untouched").put("original");
+
+		Document nestedDoc = docFactory.create();
+		SchemaValues values = schema.newValues();
+		values.set(name, "John");
+		values.set(age, 25);
+		values.set(country, null);
+		values.set(nested, nestedDoc);
+		assertFalse(values.isAssigned(untouched));
+
+		schema.write(document, values);
+
+		Collection<String> expectedKeys = Lists.newArrayList("first", "age", "untouched", "name", "country", "nested");
+		assertEquals(expectedKeys, Lists.newArrayList(document.getKeys()));
+		assertEquals(Integer.valueOf(25), document.entry("age").getVal());
+		assertEquals("John", document.entry("name").getVal());
+		assertTrue(document.entry("country").isAssigned());
+		assertNull(document.entry("country").getVal());
+		assertEquals("original", document.entry("untouched").getVal());
+		// Documents are stored as IData, as with docEntry
+		assertTrue(IDataUtil.get(document.getIData().getCursor(), "nested") instanceof IData);
+	}
+
+	@Test
+	public void testReadModifyWrite() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		SchemaField<Integer> count = builder.addOptionalField("count", Integer.class, 0);
+		DocumentSchema schema = builder.build();
+
+		Document document = docFactory.create();
+		for (int i = 0; i < 3; i++) {
+			SchemaValues values = schema.read(document);
+			values.set(count, values.get(count) + 1);
+			schema.write(document, values);
+		}
+		assertEquals(Integer.valueOf(3), document.intEntry("count").getVal());
+		assertEquals(1, document.getTotalEntries());
+	}
+
+	@Test
+	public void testFieldFromOtherSchema() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		builder.addRequiredField("name", String.class);
+		DocumentSchema schema = builder.build();
+
+		DocumentSchemaBuilder otherBuilder = new DocumentSchemaBuilder();
+		SchemaField<String> otherField = otherBuilder.addRequiredField("name", String.class);
+		DocumentSchema otherSchema = otherBuilder.build();
+
+		try {
+			schema.newValues().get(otherField);
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		try {
+			schema.write(docFactory.create(), otherSchema.newValues());
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testInvalidFields() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		builder.addRequiredField("name", String.class);
+
+		try {
+			builder.addOptionalField("name", Integer.class);
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("name"));
+		}
+
+		try {
+			new DocumentSchemaBuilder().build();
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCollectionField() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		@SuppressWarnings("rawtypes")
+		SchemaField<List> list = builder.addRequiredField("list", List.class);
+		DocumentSchema schema = builder.build();
+
+		Document document = docFactory.create();
+		document.stringsEntry("list").put(Lists.newArrayList("a", "b"));
+		SchemaValues values = schema.read(document);
+		assertEquals(document.entry("list", List.class).getVal(), values.get(list));
+
+		values.set(list, Lists.newArrayList("c"));
+		schema.write(document, values);
+		assertArrayEquals(new Object[] { "c" }, (Object[]) IDataUtil.get(document.getIData().getCursor(), "list"));
+	}
+
+	@Test
+	public void testNoFieldsAfterBuild() {
+		DocumentSchemaBuilder builder = new DocumentSchemaBuilder();
+		builder.addRequiredField("name", String.class);
+		builder.build();
+
+		try {
+			builder.addOptionalField("age", Integer.class);
+			fail();
+		}
+		catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("age"));
+		}
+	}
+}
@@ -1194,6 +1194,36 @@ public class DocumentTest {
 		assertFalse(it.hasNext());
 	}
 	
+	@Test
+	public void testGetUnitEntriesNormalised() {
+		IData nested = newIDataWithValue("a");
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("doc", nested);
+		cursor.insertAfter("docs", new IData[] { nested });
+		cursor.insertAfter("strings", new String[] { "s1", "s2" });
+		cursor.insertAfter("doc", "duplicate");
+		cursor.destroy();
+		
+		Document document = Documents.wrap(idata);
+		Iterator<KeyValue> it = document.getUnitEntries().iterator();
+		
+		KeyValue docKeyValue = it.next();
+		assertEquals("doc", docKeyValue.getKey());
+		assertTrue(docKeyValue.getValue() instanceof Document);
+		assertEquals(nested, ((Document) docKeyValue.getValue()).getIData());
+		
+		KeyValue docsKeyValue = it.next();
+		assertEquals("docs", docsKeyValue.getKey());
+		assertEquals(nested, ((Document) ((List<?>) docsKeyValue.getValue()).get(0)).getIData());
+		
+		KeyValue stringsKeyValue = it.next();
+		assertEquals("strings", stringsKeyValue.getKey());
+		assertEquals(Lists.newArrayList("s1", "s2"), stringsKeyValue.getValue());
+		
+		assertFalse(it.hasNext());
+	}
+	
 	@Test
 	public void testClear() {
 		Document document = docFactory.create();
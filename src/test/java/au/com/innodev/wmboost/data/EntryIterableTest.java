@@ -0,0 +1,150 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.preset.Documents;
+
+public class EntryIterableTest {
+
+	private static DocumentImpl newDocument() {
+		Document document = Documents.create();
+		document.entry("a").put("1");
+		document.entry("b").put("2");
+		return (DocumentImpl) document;
+	}
+
+	@Test
+	public void testExhaustedIteratorsAreReleased() {
+		EntryIterable iterable = new EntryIterable(newDocument());
+		for (int i = 0; i < 100; i++) {
+			int count = 0;
+			for (KeyValue keyValue : iterable) {
+				count++;
+			}
+			assertEquals(2, count);
+		}
+
+		assertEquals(0, iterable.getOpenIteratorCount());
+		iterable.close();
+	}
+
+	@Test
+	public void testExhaustedIterator() {
+		EntryIterable iterable = new EntryIterable(newDocument());
+		Iterator<KeyValue> it = iterable.iterator();
+		it.next();
+		it.next();
+		try {
+			it.next();
+			fail();
+		}
+		catch (NoSuchElementException e) {
+			// Success
+		}
+
+		assertFalse(it.hasNext());
+		assertEquals(0, iterable.getOpenIteratorCount());
+	}
+
+	@Test
+	public void testCloseReleasesOpenIterators() {
+		EntryIterable iterable = new EntryIterable(newDocument());
+		Iterator<KeyValue> it = iterable.iterator();
+		it.next();
+		iterable.iterator();
+		assertEquals(2, iterable.getOpenIteratorCount());
+
+		iterable.close();
+		assertEquals(0, iterable.getOpenIteratorCount());
+		try {
+			it.hasNext();
+			fail();
+		}
+		catch (IllegalStateException e) {
+			// Success
+		}
+	}
+
+	@Test
+	public void testLeakDetectionDisabled() {
+		assertNull(new ResourceLeakDetector(false).track(new Object()));
+	}
+
+	@Test
+	public void testLeakReported() {
+		ResourceLeakDetector detector = new ResourceLeakDetector(true);
+		ResourceLeakDetector.Tracker tracker = detector.track(new Object());
+		tracker.setOpen(true);
+
+		// Simulates the resource being garbage collected
+		assertTrue(tracker.enqueue());
+		assertEquals(1, detector.reportLeaks());
+		assertEquals(0, detector.reportLeaks());
+	}
+
+	@Test
+	public void testReleasedResourceNotReported() {
+		ResourceLeakDetector detector = new ResourceLeakDetector(true);
+		EntryIterable fullyIterated = new EntryIterable(newDocument(), detector);
+		for (KeyValue keyValue : fullyIterated) {
+			keyValue.getKey();
+		}
+		EntryIterable closed = new EntryIterable(newDocument(), detector);
+		closed.iterator().next();
+		closed.close();
+
+		ResourceLeakDetector.Tracker fullyIteratedTracker = detector.track(fullyIterated);
+		fullyIteratedTracker.enqueue();
+		assertEquals(0, detector.reportLeaks());
+	}
+
+	@Test
+	public void testIterationModes() {
+		IData nested = TestUtil.newIDataWithValue("a");
+		String[] strings = { "s1", "s2" };
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("doc", nested);
+		cursor.insertAfter("strings", strings);
+		cursor.destroy();
+		DocumentImpl document = (DocumentImpl) Documents.wrap(idata);
+
+		EntryIterableResource raw = document.getAllEntries(EntryIterationMode.RAW);
+		Iterator<KeyValue> rawIt = raw.iterator();
+		assertSame(nested, rawIt.next().getValue());
+		assertSame(strings, rawIt.next().getValue());
+		assertFalse(rawIt.hasNext());
+		raw.close();
+
+		EntryIterableResource lazy = document.getAllEntries(EntryIterationMode.LAZY);
+		Iterator<KeyValue> lazyIt = lazy.iterator();
+		KeyValue docKeyValue = lazyIt.next();
+		KeyValue stringsKeyValue = lazyIt.next();
+		assertEquals("doc", docKeyValue.getKey());
+		Object doc = docKeyValue.getValue();
+		assertTrue(doc instanceof Document);
+		assertSame(nested, ((Document) doc).getIData());
+		assertSame(doc, docKeyValue.getValue());
+		assertEquals(Arrays.asList("s1", "s2"), stringsKeyValue.getValue());
+		lazy.close();
+
+		EntryIterableResource normalised = document.getAllEntries(EntryIterationMode.NORMALISED);
+		assertTrue(normalised.iterator().next().getValue() instanceof Document);
+		normalised.close();
+	}
+}
@@ -0,0 +1,131 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class EntryValuesTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	@Test
+	public void testGetValues() {
+		Document document = docFactory.create();
+		document.stringEntry("name").put("John");
+		document.stringEntry("age").put("25");
+		document.entry("nullValue").put(null);
+		document.entry("list").put(new String[] { "a", "b" });
+
+		EntryValues values = document.getValues("name", "age", "nullValue", "missing", "list");
+
+		assertEquals("John", values.getVal("name", String.class));
+		assertEquals(Integer.valueOf(25), values.getVal("age", Integer.class));
+		assertEquals(Long.valueOf(25), values.getVal("age", Long.class));
+		assertNull(values.getVal("nullValue", Integer.class));
+		assertEquals(Lists.newArrayList("a", "b"), values.getVal("list", Object.class));
+
+		assertTrue(values.isAssigned("nullValue"));
+		assertFalse(values.isAssigned("missing"));
+
+		assertNull(values.getValOrNull("missing", Integer.class));
+		assertEquals(Integer.valueOf(7), values.getValOrDefault("missing", Integer.class, 7));
+		assertEquals(Integer.valueOf(7), values.getValOrDefault("nullValue", Integer.class, 7));
+		assertNull(values.getValOrDefault("nullValue", Integer.class, 7, NullValHandling.RETURN_NULL));
+	}
+
+	@Test
+	public void testGetValues_Inexistent() {
+		Document document = docFactory.create();
+		EntryValues values = document.getValues("missing");
+
+		try {
+			values.getVal("missing", String.class);
+			fail();
+		}
+		catch (InexistentEntryException e) {
+			assertTrue(e.getMessage().contains("missing"));
+		}
+	}
+
+	@Test
+	public void testGetValues_NullFail() {
+		Document document = docFactory.create();
+		document.entry("nullValue").put(null);
+		EntryValues values = document.getValues("nullValue");
+
+		try {
+			values.getValOrDefault("nullValue", String.class, "default", NullValHandling.FAIL);
+			fail();
+		}
+		catch (UnexpectedEntryValueException e) {
+			assertTrue(e.getMessage().contains("nullValue"));
+		}
+	}
+
+	@Test
+	public void testGetValues_FirstEntryIsUsed() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("key", "first");
+		cursor.insertAfter("key", "second");
+		cursor.destroy();
+
+		EntryValues values = docFactory.wrap(idata).getValues("key", "key");
+		assertEquals("first", values.getVal("key", String.class));
+	}
+
+	@Test
+	public void testGetValues_KeyNotRetrieved() {
+		Document document = docFactory.create();
+		document.stringEntry("name").put("John");
+		EntryValues values = document.getValues("other");
+
+		try {
+			values.getValOrNull("name", String.class);
+			fail();
+		}
+		catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().contains("name"));
+		}
+	}
+
+	@Test
+	public void testGetValues_Snapshot() {
+		Document document = docFactory.create();
+		document.stringEntry("name").put("John");
+		EntryValues values = document.getValues("name");
+		document.stringEntry("name").put("Mary");
+
+		assertEquals("John", values.getVal("name", String.class));
+	}
+
+	@Test
+	public void testCollectionTypeSameAsEntry() {
+		IData nested = IDataFactory.create();
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("docs", new IData[] { nested });
+		cursor.destroy();
+		Document document = docFactory.wrap(idata);
+
+		List<?> batchValue = document.getValues("docs").getVal("docs", List.class);
+		List<?> entryValue = document.entry("docs", List.class).getVal();
+
+		assertEquals(entryValue, batchValue);
+		assertEquals(document.collectionEntry("docs").getVal(), batchValue);
+		assertSame(nested, batchValue.get(0));
+	}
+}
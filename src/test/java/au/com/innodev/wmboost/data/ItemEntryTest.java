@@ -3,12 +3,14 @@ package au.com.innodev.wmboost.data;
 import static au.com.innodev.wmboost.data.TestUtil.newIDataWithValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
 import com.wm.data.IData;
+import com.wm.data.IDataUtil;
 
 import au.com.innodev.wmboost.data.preset.DocumentFactories;
 
@@ -133,5 +135,44 @@ public class ItemEntryTest {
 		
 		assertEquals(expected, document.intEntry("value1").getValOrDefault(9, NullValHandling.RETURN_DEFAULT));
 	}
+	
+	@Test
+	public void testGetValOrDefault_Absent() {
+		Integer expected = 9;
+		IData idata = newIDataWithValue("7");
+
+		Document document = docFactory.wrap(idata);
+		
+		assertEquals(expected, document.intEntry("otherValue").getValOrDefault(9, NullValHandling.FAIL));
+	}
+	
+	@Test
+	public void testGetVal_Absent() {
+		IData idata = newIDataWithValue("7");
+
+		Document document = docFactory.wrap(idata);
+		
+		try {
+			document.intEntry("otherValue").getVal();
+			fail();
+		}
+		catch (InexistentEntryException e) {
+			assertTrue(e.getMessage().contains("otherValue"));
+		}
+	}
+	
+	@Test
+	public void testGetVal_AlreadyOfType() {
+		String stringValue = new String("abc");
+		Long longValue = Long.valueOf(123456789L);
+		IData idata = newIDataWithValue(stringValue);
+		IDataUtil.put(idata.getCursor(), "value2", longValue);
+
+		Document document = docFactory.wrap(idata);
+		
+		assertSame(stringValue, document.stringEntry("value1").getVal());
+		assertSame(longValue, document.entry("value2", Number.class).getVal());
+		assertSame(longValue, document.longEntry("value2").getVal());
+	}
 
 }
@@ -0,0 +1,70 @@
+package au.com.innodev.wmboost.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+public class OverlayedConversionServiceTest {
+
+	/**
+	 * Converts strings to {@link StringBuilder} instances and counts how many
+	 * times it's been probed
+	 */
+	private static class CountingConversionService implements ConversionService {
+		private int canConvertCount = 0;
+
+		@Override
+		public boolean canConvert(Class<?> sourceType, Class<?> targetType) {
+			return canConvert(TypeDescriptor.valueOf(sourceType), TypeDescriptor.valueOf(targetType));
+		}
+
+		@Override
+		public boolean canConvert(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			canConvertCount++;
+			return sourceType != null && String.class.equals(sourceType.getType()) && StringBuilder.class.equals(targetType.getType());
+		}
+
+		@Override
+		public <T> T convert(Object source, Class<T> targetType) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			return new StringBuilder((String) source);
+		}
+	}
+
+	@Test
+	public void testResolvedLayerIsReused() {
+		CountingConversionService topLayer = new CountingConversionService();
+		List<ConversionService> layers = new ArrayList<ConversionService>();
+		layers.add(topLayer);
+		layers.add(new DefaultConversionService());
+		OverlayedConversionService service = new OverlayedConversionService(layers);
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals("abc", service.convert("abc", StringBuilder.class).toString());
+			assertEquals(Integer.valueOf(i), service.convert(String.valueOf(i), Integer.class));
+		}
+
+		// One probe per type pair
+		assertEquals(2, topLayer.canConvertCount);
+	}
+
+	@Test
+	public void testNullSource() {
+		List<ConversionService> layers = new ArrayList<ConversionService>();
+		layers.add(new CountingConversionService());
+		layers.add(new DefaultConversionService());
+		OverlayedConversionService service = new OverlayedConversionService(layers);
+
+		assertEquals(null, service.convert(null, Integer.class));
+	}
+}
@@ -0,0 +1,211 @@
+package au.com.innodev.wmboost.data;
+
+import static au.com.innodev.wmboost.data.TestUtil.newIDataWithValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
+import com.wm.data.MDouble;
+import com.wm.data.MInteger;
+import com.wm.data.MLong;
+
+import au.com.innodev.wmboost.data.preset.DocumentFactories;
+
+public class PrimitiveArrayEntryTest {
+	private final DocumentFactory docFactory = DocumentFactories.getDefault();
+
+	@Test
+	public void testIntsFromStringArray() {
+		IData idata = newIDataWithValue(new String[] { "1", "-22", "333" });
+
+		Document document = docFactory.wrap(idata);
+		assertArrayEquals(new int[] { 1, -22, 333 }, document.intArrayEntry("value1").getVal());
+	}
+
+	@Test
+	public void testIntsFromMixedElements() {
+		IData idata = newIDataWithValue(new Object[] { 1, "2", new MInteger(3), " 4 ", 5L });
+
+		Document document = docFactory.wrap(idata);
+		assertArrayEquals(new int[] { 1, 2, 3, 4, 5 }, document.intArrayEntry("value1").getVal());
+	}
+
+	@Test
+	public void testFromMScalarArrays() {
+		IData idata = IDataFactory.create();
+		IDataUtil.put(idata.getCursor(), "ints", new MInteger[] { new MInteger(1), new MInteger(-2) });
+		IDataUtil.put(idata.getCursor(), "longs", new MLong[] { new MLong(3L), new MLong(Long.MAX_VALUE) });
+		IDataUtil.put(idata.getCursor(), "doubles", new Object[] { new MDouble(1.5), new MInteger(2) });
+
+		Document document = docFactory.wrap(idata);
+		assertArrayEquals(new int[] { 1, -2 }, document.intArrayEntry("ints").getVal());
+		assertArrayEquals(new long[] { 3L, Long.MAX_VALUE }, document.longArrayEntry("longs").getVal());
+		assertArrayEquals(new double[] { 1.5, 2 }, document.doubleArrayEntry("doubles").getVal(), 0);
+		assertArrayEquals(new long[] { 1, -2 }, document.longArrayEntry("ints").getVal());
+	}
+
+	@Test
+	public void testIntOverflowIsRejected() {
+		IData idata = newIDataWithValue(new Object[] { 1, new MLong(Long.MAX_VALUE) });
+
+		Document document = docFactory.wrap(idata);
+		try {
+			document.intArrayEntry("value1").getVal();
+			fail();
+		}
+		catch (RuntimeException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testIntsFromPrimitiveArrayIsCopied() {
+		int[] original = new int[] { 1, 2 };
+		IData idata = newIDataWithValue(original);
+
+		Document document = docFactory.wrap(idata);
+		int[] value = document.intArrayEntry("value1").getVal();
+		assertArrayEquals(original, value);
+		value[0] = 10;
+		assertEquals(1, original[0]);
+	}
+
+	@Test
+	public void testIntsFromList() {
+		IData idata = newIDataWithValue(Lists.newArrayList("1", "2"));
+
+		Document document = docFactory.wrap(idata);
+		assertArrayEquals(new int[] { 1, 2 }, document.intArrayEntry("value1").getVal());
+	}
+
+	@Test
+	public void testIntsWithNullElement() {
+		IData idata = newIDataWithValue(new Integer[] { 1, null });
+
+		Document document = docFactory.wrap(idata);
+		try {
+			document.intArrayEntry("value1").getVal();
+			fail();
+		}
+		catch (UnexpectedEntryValueException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testIntsWithEmptyStringElement() {
+		IData idata = newIDataWithValue(new String[] { "1", "" });
+
+		Document document = docFactory.wrap(idata);
+		try {
+			document.intArrayEntry("value1").getVal();
+			fail();
+		}
+		catch (UnexpectedEntryValueException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testIntsWithOverflow() {
+		IData idata = newIDataWithValue(new String[] { "9999999999" });
+
+		Document document = docFactory.wrap(idata);
+		try {
+			document.intArrayEntry("value1").getVal();
+			fail();
+		}
+		catch (RuntimeException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testIntsAbsentAndNull() {
+		Document document = docFactory.create();
+		IntArrayEntry entry = document.intArrayEntry("value1");
+
+		assertEquals(0, entry.getValOrEmpty().length);
+		int[] defaultValue = new int[] { 7 };
+		assertSame(defaultValue, entry.getValOrDefault(defaultValue));
+		try {
+			entry.getVal();
+			fail();
+		}
+		catch (InexistentEntryException e) {
+			// pass
+		}
+
+		entry.put(null);
+		assertTrue(entry.isAssigned());
+		assertNull(entry.getVal());
+		assertEquals(0, entry.getValOrEmpty().length);
+		assertSame(defaultValue, entry.getValOrDefault(defaultValue));
+		assertNull(entry.getValOrDefault(defaultValue, NullValHandling.RETURN_NULL));
+		try {
+			entry.getNonNullVal();
+			fail();
+		}
+		catch (UnexpectedEntryValueException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testIntsPutStoresBoxedArray() {
+		IData idata = IDataFactory.create();
+		Document document = docFactory.wrap(idata);
+		document.intArrayEntry("value1").put(new int[] { 1, 2 });
+
+		assertArrayEquals(new Integer[] { 1, 2 }, (Integer[]) IDataUtil.get(idata.getCursor(), "value1"));
+		assertEquals(Lists.newArrayList(1, 2), document.intsEntry("value1").getVal());
+	}
+
+	@Test
+	public void testLongs() {
+		IData idata = newIDataWithValue(new Object[] { 1, "-123456789012", 3L });
+
+		Document document = docFactory.wrap(idata);
+		LongArrayEntry entry = document.longArrayEntry("value1");
+		assertArrayEquals(new long[] { 1, -123456789012L, 3 }, entry.getVal());
+
+		entry.put(new long[] { 4, 5 });
+		assertEquals(Lists.newArrayList(4L, 5L), document.longsEntry("value1").getVal());
+	}
+
+	@Test
+	public void testDoubles() {
+		IData idata = newIDataWithValue(new Object[] { 1.5, "-2.25", "3", 4 });
+
+		Document document = docFactory.wrap(idata);
+		DoubleArrayEntry entry = document.doubleArrayEntry("value1");
+		assertArrayEquals(new double[] { 1.5, -2.25, 3, 4 }, entry.getVal(), 0);
+
+		entry.put(new double[] { 0.5 });
+		assertEquals(Lists.newArrayList(0.5), document.doublesEntry("value1").getVal());
+	}
+
+	@Test
+	public void testPlainNumberChecks() {
+		assertTrue(PrimitiveArrayEntryImpl.isPlainInteger("-123", 9));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainInteger("-", 9));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainInteger("+1", 9));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainInteger("0x10", 9));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainInteger("1234567890", 9));
+
+		assertTrue(PrimitiveArrayEntryImpl.isPlainDecimal("-1.25"));
+		assertTrue(PrimitiveArrayEntryImpl.isPlainDecimal("10"));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainDecimal("1."));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainDecimal(".5"));
+		assertTrue(!PrimitiveArrayEntryImpl.isPlainDecimal("1e3"));
+	}
+}
@@ -2,11 +2,15 @@ package au.com.innodev.wmboost.data;
 
 import static au.com.innodev.wmboost.data.TestUtil.newIDataWithValue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.junit.Test;
@@ -302,4 +306,155 @@ public class SplitEntryTest {
 		assertEquals(5, IDataUtil.size(document.getIData().getCursor()));
 	}
 
+	@Test
+	public void testValIterable() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", "1");
+		cursor.insertAfter("somethingElse", "y");
+		cursor.insertAfter("item", 2);
+		cursor.insertAfter("item", "3");
+		cursor.destroy();
+
+		Document document = docFactory.wrap(idata);
+		List<Integer> actual = Lists.newArrayList();
+		ValueIterableResource<Integer> values = document.intsSplitEntry("item").getValIterable();
+		try {
+			for (Integer value : values) {
+				actual.add(value);
+			}
+		}
+		finally {
+			values.close();
+		}
+		assertEquals(Lists.newArrayList(1, 2, 3), actual);
+	}
+
+	@Test
+	public void testValIterableEarlyTermination() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", "a");
+		cursor.insertAfter("item", "b");
+		cursor.destroy();
+
+		Document document = docFactory.wrap(idata);
+		ValueIterableResource<String> values = document.stringsSplitEntry("item").getValIterable();
+		Iterator<String> iterator = values.iterator();
+		assertEquals("a", iterator.next());
+		values.close();
+
+		try {
+			iterator.next();
+			fail();
+		}
+		catch (IllegalStateException e) {
+			// pass
+		}
+	}
+
+	@Test
+	public void testValIterableReleasesIterators() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", "a");
+		cursor.insertAfter("other", "x");
+		cursor.insertAfter("item", "b");
+		cursor.destroy();
+
+		DocumentImpl document = (DocumentImpl) docFactory.wrap(idata);
+		SplitEntryIterable<String> values = new SplitEntryIterable<String>(document, "item", EntryTypeSpec.STRING);
+		for (int i = 0; i < 100; i++) {
+			List<String> actual = new ArrayList<String>();
+			for (String value : values) {
+				actual.add(value);
+			}
+			assertEquals(Lists.newArrayList("a", "b"), actual);
+		}
+		assertEquals(0, values.getOpenIteratorCount());
+
+		SplitEntryIterable<String> missing = new SplitEntryIterable<String>(document, "missing", EntryTypeSpec.STRING);
+		assertFalse(missing.iterator().hasNext());
+		assertEquals(0, missing.getOpenIteratorCount());
+
+		values.iterator().next();
+		assertEquals(1, values.getOpenIteratorCount());
+		values.close();
+		assertEquals(0, values.getOpenIteratorCount());
+	}
+
+	@Test
+	public void testValIterableExhausted() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", "a");
+		cursor.destroy();
+
+		Document document = docFactory.wrap(idata);
+		Iterator<String> iterator = document.stringsSplitEntry("item").getValIterable().iterator();
+		assertTrue(iterator.hasNext());
+		assertEquals("a", iterator.next());
+		assertFalse(iterator.hasNext());
+		try {
+			iterator.next();
+			fail();
+		}
+		catch (NoSuchElementException e) {
+			// pass
+		}
+
+		assertFalse(document.stringsSplitEntry("missing").getValIterable().iterator().hasNext());
+	}
+
+	@Test
+	public void testPutReplacesAdjacentAndInterleavedValues() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", "a");
+		cursor.insertAfter("item", "b");
+		cursor.insertAfter("other", "x");
+		cursor.insertAfter("item", "c");
+		cursor.insertAfter("item", "d");
+		cursor.insertAfter("other2", "y");
+		cursor.insertAfter("item", "e");
+		cursor.destroy();
+
+		Document document = docFactory.wrap(idata);
+		document.stringsSplitEntry("item").put(Lists.newArrayList("1", "2"));
+
+		assertEquals(Lists.newArrayList("other", "other2", "item", "item"),
+				keysInOrder(idata));
+		assertEquals(Lists.newArrayList("1", "2"), document.stringsSplitEntry("item").getValOrEmpty());
+
+		document.stringsSplitEntry("item").remove();
+		assertEquals(Lists.newArrayList("other", "other2"), keysInOrder(idata));
+	}
+
+	@Test
+	public void testPutWithInvalidValueLeavesEntryUntouched() {
+		IData idata = IDataFactory.create();
+		IDataCursor cursor = idata.getCursor();
+		cursor.insertAfter("item", 1);
+		cursor.destroy();
+
+		Document document = docFactory.wrap(idata);
+		try {
+			document.splitEntry("item", Integer.class).putConverted(Lists.newArrayList("2", "invalid"));
+			fail();
+		}
+		catch (RuntimeException e) {
+			// pass
+		}
+		assertEquals(Lists.newArrayList(1), document.intsSplitEntry("item").getValOrEmpty());
+	}
+
+	private static List<String> keysInOrder(IData idata) {
+		List<String> keys = Lists.newArrayList();
+		IDataCursor cursor = idata.getCursor();
+		while (cursor.next()) {
+			keys.add(cursor.getKey());
+		}
+		cursor.destroy();
+		return keys;
+	}
 }
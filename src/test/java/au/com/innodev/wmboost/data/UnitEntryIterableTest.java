@@ -29,7 +29,7 @@ public class UnitEntryIterableTest {
 		
 		cursor.insertAfter("iDataArray", new IData[] {nested1, nested2});
 		
-		Document document = Documents.wrap(idata);
+		DocumentImpl document = (DocumentImpl) Documents.wrap(idata);
 		UnitEntryIterable iterable = new UnitEntryIterable(document);
 		Iterator<KeyValue> it = iterable.iterator();
 		
@@ -64,4 +64,20 @@ public class UnitEntryIterableTest {
 		
 	}
 
+	@Test
+	public void testValueIsReadWhenReturned() {
+		Document document = Documents.create();
+		document.entry("a").put("1");
+		document.entry("b").put("2");
+
+		Iterator<KeyValue> it = document.getUnitEntries().iterator();
+		document.entry("a").put("changed");
+		assertEquals("changed", it.next().getValue());
+
+		assertTrue(it.hasNext());
+		document.entry("b").put("changed too");
+		assertEquals("changed too", it.next().getValue());
+		assertFalse(it.hasNext());
+	}
+
 }
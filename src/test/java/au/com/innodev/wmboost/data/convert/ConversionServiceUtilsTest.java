@@ -0,0 +1,54 @@
+package au.com.innodev.wmboost.data.convert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+
+import com.wm.data.MDouble;
+import com.wm.data.MInteger;
+import com.wm.data.MLong;
+
+public class ConversionServiceUtilsTest {
+
+	private final ConversionService conversionService = ConversionServiceUtils.createDefaultConversionService();
+
+	@Test
+	public void testStringToM() {
+		assertEquals(12, conversionService.convert("12", MInteger.class).intValue());
+		assertEquals(12, conversionService.convert(" 12 ", MInteger.class).intValue());
+		assertEquals(16, conversionService.convert("0x10", MInteger.class).intValue());
+		assertEquals(-123456789012L, conversionService.convert("-123456789012", MLong.class).longValue());
+		assertEquals(1.5, conversionService.convert("1.5", MDouble.class).doubleValue(), 0);
+	}
+
+	@Test
+	public void testBlankStringToM() {
+		assertNull(conversionService.convert("", MInteger.class));
+		assertNull(conversionService.convert("  ", MInteger.class));
+	}
+
+	@Test
+	public void testNumberToM() {
+		assertEquals(12, conversionService.convert(12L, MInteger.class).intValue());
+		assertEquals(12L, conversionService.convert(new MInteger(12), MLong.class).longValue());
+		assertEquals(3.0, conversionService.convert(3, MDouble.class).doubleValue(), 0);
+	}
+
+	@Test
+	public void testInvalidValuesToM() {
+		Object[] invalidValues = { "abc", "9999999999", 9999999999L };
+		for (Object value : invalidValues) {
+			try {
+				conversionService.convert(value, MInteger.class);
+				fail(String.valueOf(value));
+			}
+			catch (ConversionFailedException e) {
+				// pass
+			}
+		}
+	}
+}
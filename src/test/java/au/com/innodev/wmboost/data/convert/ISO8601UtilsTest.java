@@ -0,0 +1,101 @@
+package au.com.innodev.wmboost.data.convert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.threeten.bp.DateTimeUtils;
+import org.threeten.bp.OffsetDateTime;
+
+public class ISO8601UtilsTest {
+
+	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+	@Test
+	public void testFormatMatchesCalendarBasedFormat() {
+		Random random = new Random(42);
+		TimeZone[] zones = { UTC, TimeZone.getTimeZone("Australia/Sydney"), TimeZone.getTimeZone("GMT-03:30") };
+		for (int i = 0; i < 20000; i++) {
+			// Years 1500 to 9999, which also covers the calendar-based range
+			long time = -14831769600000L + (long) (random.nextDouble() * 268212211200000L);
+			Date date = new Date(time);
+			for (TimeZone zone : zones) {
+				assertEquals(ISO8601Utils.formatWithCalendar(date, true, zone), ISO8601Utils.format(date, true, zone));
+				assertEquals(ISO8601Utils.formatWithCalendar(date, false, zone), ISO8601Utils.format(date, false, zone));
+			}
+		}
+	}
+
+	@Test
+	public void testFormatEpochBoundaries() {
+		assertEquals("1970-01-01T00:00:00.000Z", ISO8601Utils.format(new Date(0), true));
+		assertEquals("1969-12-31T23:59:59.999Z", ISO8601Utils.format(new Date(-1), true));
+		assertEquals("2000-02-29T12:00:00Z", ISO8601Utils.format(new Date(951825600000L)));
+	}
+
+	@Test
+	public void testParseRoundTrip() throws ParseException {
+		Random random = new Random(7);
+		for (int i = 0; i < 20000; i++) {
+			long time = -14831769600000L + (long) (random.nextDouble() * 268212211200000L);
+			String formatted = ISO8601Utils.format(new Date(time), true);
+			assertEquals(formatted, time, parse(formatted).getTime());
+		}
+	}
+
+	@Test
+	public void testParseOffsets() throws ParseException {
+		assertEquals(expected("2017-02-13T12:34:56.789+10:00"), parse("2017-02-13T12:34:56.789+10:00"));
+		assertEquals(expected("2017-02-13T12:34:56.789+10:00"), parse("2017-02-13T12:34:56.789+1000"));
+		assertEquals(expected("2017-02-13T12:34:56-03:30"), parse("20170213T123456-0330"));
+		assertEquals(expected("2017-02-13T12:34:00Z"), parse("2017-02-13T12:34+00:00"));
+		assertEquals(expected("2017-02-13T12:34:00Z"), parse("2017-02-13T12:34-00:00"));
+		assertEquals(expected("2017-02-13T12:34:56.780Z"), parse("2017-02-13T12:34:56.78Z"));
+	}
+
+	@Test
+	public void testParseBeforeGregorianCutover() throws ParseException {
+		Calendar calendar = new GregorianCalendar(UTC);
+		calendar.clear();
+		calendar.set(1200, Calendar.MARCH, 4, 5, 6, 7);
+		assertEquals(calendar.getTime(), parse("1200-03-04T05:06:07Z"));
+	}
+
+	@Test
+	public void testParseDateOnly() throws ParseException {
+		assertEquals(new GregorianCalendar(2017, Calendar.FEBRUARY, 13).getTime(), parse("2017-02-13"));
+	}
+
+	@Test
+	public void testParseInvalid() {
+		String[] invalidValues = { "2017-02-29T00:00:00Z", "2017-13-01T00:00:00Z", "2017-04-31T00:00:00Z",
+				"2017-02-13T24:00:00Z", "2017-02-13T12:60:00Z", "2017-02-13T12:00:00", "2017-02-13T12:00:00+10",
+				"2017-02-13T12:00:00+24:00", "2017-02-13T12:00:00+10:60",
+				"2017-02-13T12:00:00+10:00x", "2017-02-13T12:00:00Y" };
+		for (String value : invalidValues) {
+			try {
+				parse(value);
+				fail(value);
+			}
+			catch (ParseException e) {
+				// pass
+			}
+		}
+	}
+
+	private static Date parse(String value) throws ParseException {
+		return ISO8601Utils.parse(value, new ParsePosition(0));
+	}
+
+	private static Date expected(String value) {
+		return DateTimeUtils.toDate(OffsetDateTime.parse(value).toInstant());
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.preset.Documents;
+
+/**
+ * Measures collection entry access for arrays of different sizes: reads
+ * that only copy, reads that convert each element, reads of document lists
+ * and puts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionEntryBenchmark {
+
+	@Param({ "10", "1000" })
+	private int size;
+
+	private Document document;
+	private List<String> strings;
+	private List<Integer> ints;
+
+	@Setup
+	public void setUp() {
+		IData iData = IDataFactory.create();
+		document = Documents.wrap(iData);
+
+		strings = new ArrayList<String>(size);
+		ints = new ArrayList<Integer>(size);
+		List<Document> docs = new ArrayList<Document>(size);
+		for (int i = 0; i < size; i++) {
+			strings.add(String.valueOf(i));
+			ints.add(i);
+
+			Document member = Documents.create();
+			member.stringEntry("id").put(String.valueOf(i));
+			docs.add(member);
+		}
+
+		document.stringsEntry("strings").put(strings);
+		document.intsEntry("ints").put(ints);
+		document.docsEntry("docs").put(docs);
+	}
+
+	@Benchmark
+	public List<String> getStrings() {
+		return document.stringsEntry("strings").getVal();
+	}
+
+	@Benchmark
+	public List<Integer> getIntsSameType() {
+		return document.intsEntry("ints").getVal();
+	}
+
+	@Benchmark
+	public List<Integer> getIntsFromStrings() {
+		return document.intsEntry("strings").getVal();
+	}
+
+	@Benchmark
+	public List<Document> getDocs() {
+		return document.docsEntry("docs").getVal();
+	}
+
+	@Benchmark
+	public Object getObjectCollection() {
+		return document.collectionEntry("strings").getVal();
+	}
+
+	@Benchmark
+	public Document putStrings() {
+		document.stringsEntry("strings").put(strings);
+		return document;
+	}
+
+	@Benchmark
+	public Document putConvertedInts() {
+		document.intsEntry("ints").putConverted(strings);
+		return document;
+	}
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.benchmarks;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.DocumentPath;
+import au.com.innodev.wmboost.data.EntryIterableResource;
+import au.com.innodev.wmboost.data.EntryIterationMode;
+import au.com.innodev.wmboost.data.KeyValue;
+import au.com.innodev.wmboost.data.preset.Documents;
+
+/**
+ * Measures document-wide operations (key listing, counting, iteration,
+ * copying, clearing) and nested document access, for documents of different sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentBenchmark {
+
+	private static final DocumentPath NESTED_PATH = DocumentPath.compile("level1/level2/value");
+
+	@Param({ "10", "1000" })
+	private int entries;
+
+	private Document document;
+	private String lastKey;
+
+	@Setup
+	public void setUp() {
+		document = createPopulated(entries);
+		lastKey = "key" + (entries - 1);
+
+		Document level2 = Documents.create();
+		level2.stringEntry("value").put("deep");
+		Document level1 = Documents.create();
+		level1.docEntry("level2").put(level2);
+		document.docEntry("level1").put(level1);
+	}
+
+	private static Document createPopulated(int entries) {
+		IData iData = IDataFactory.create();
+		Document document = Documents.wrap(iData);
+		for (int i = 0; i < entries; i++) {
+			document.entry("key" + i).put(String.valueOf(i));
+		}
+		return document;
+	}
+
+	@Benchmark
+	public Collection<String> getKeys() {
+		return document.getKeys();
+	}
+
+	@Benchmark
+	public int getTotalEntries() {
+		return document.getTotalEntries();
+	}
+
+	@Benchmark
+	public boolean containsKey() {
+		return document.containsKey(lastKey);
+	}
+
+	@Benchmark
+	public void iterateAllEntries(Blackhole blackhole) {
+		EntryIterableResource iterable = document.getAllEntries();
+		try {
+			for (KeyValue keyValue : iterable) {
+				blackhole.consume(keyValue.getValue());
+			}
+		}
+		finally {
+			iterable.close();
+		}
+	}
+
+	@Benchmark
+	public void iterateAllEntriesRaw(Blackhole blackhole) {
+		EntryIterableResource iterable = document.getAllEntries(EntryIterationMode.RAW);
+		try {
+			for (KeyValue keyValue : iterable) {
+				blackhole.consume(keyValue.getValue());
+			}
+		}
+		finally {
+			iterable.close();
+		}
+	}
+
+	@Benchmark
+	public void iterateUnitEntries(Blackhole blackhole) {
+		for (KeyValue keyValue : document.getUnitEntries()) {
+			blackhole.consume(keyValue.getValue());
+		}
+	}
+
+	@Benchmark
+	public String getNestedValue() {
+		return document.docEntry("level1").getVal().docEntry("level2").getVal().stringEntry("value").getVal();
+	}
+
+	@Benchmark
+	public String getNestedValueByPath() {
+		return document.path(NESTED_PATH, String.class);
+	}
+
+	@Benchmark
+	public Document deepCopy() {
+		return document.deepCopy();
+	}
+
+	@Benchmark
+	public Document populateAndClear() {
+		Document populated = createPopulated(entries);
+		populated.clear();
+		return populated;
+	}
+}
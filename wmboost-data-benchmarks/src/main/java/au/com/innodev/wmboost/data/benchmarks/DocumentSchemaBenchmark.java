@@ -0,0 +1,137 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.DocumentSchema;
+import au.com.innodev.wmboost.data.DocumentSchemaBuilder;
+import au.com.innodev.wmboost.data.EntryValues;
+import au.com.innodev.wmboost.data.SchemaField;
+import au.com.innodev.wmboost.data.SchemaValues;
+import au.com.innodev.wmboost.data.preset.Documents;
+
+/**
+ * Compares reading and writing a fixed set of fields with a
+ * {@link DocumentSchema} and with the batch methods of {@link Document}
+ * against doing it entry by entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentSchemaBenchmark {
+
+	private static final DocumentSchemaBuilder BUILDER = new DocumentSchemaBuilder();
+	private static final SchemaField<String> NAME = BUILDER.addRequiredField("name", String.class);
+	private static final SchemaField<Integer> AGE = BUILDER.addRequiredField("age", Integer.class);
+	private static final SchemaField<String> CITY = BUILDER.addRequiredField("city", String.class);
+	private static final SchemaField<Long> ID = BUILDER.addRequiredField("id", Long.class);
+	private static final SchemaField<String> COUNTRY = BUILDER.addOptionalField("country", String.class, "AU");
+	private static final DocumentSchema SCHEMA = BUILDER.build();
+
+	private Document document;
+	private SchemaValues values;
+
+	@Setup
+	public void setUp() {
+		IData iData = IDataFactory.create();
+		document = Documents.wrap(iData);
+
+		for (int i = 0; i < 10; i++) {
+			document.entry("filler" + i).put(i);
+		}
+		document.stringEntry("name").put("John");
+		document.intEntry("age").put(25);
+		document.stringEntry("city").put("Sydney");
+		document.longEntry("id").put(1234L);
+
+		values = SCHEMA.read(document);
+	}
+
+	@Benchmark
+	public void readWithEntries(Blackhole blackhole) {
+		blackhole.consume(document.stringEntry("name").getVal());
+		blackhole.consume(document.intEntry("age").getVal());
+		blackhole.consume(document.stringEntry("city").getVal());
+		blackhole.consume(document.longEntry("id").getVal());
+		blackhole.consume(document.stringEntry("country").getValOrDefault("AU"));
+	}
+
+	@Benchmark
+	public void readWithGetValues(Blackhole blackhole) {
+		EntryValues read = document.getValues("name", "age", "city", "id", "country");
+		blackhole.consume(read.getVal("name", String.class));
+		blackhole.consume(read.getVal("age", Integer.class));
+		blackhole.consume(read.getVal("city", String.class));
+		blackhole.consume(read.getVal("id", Long.class));
+		blackhole.consume(read.getValOrDefault("country", String.class, "AU"));
+	}
+
+	@Benchmark
+	public void readWithSchema(Blackhole blackhole) {
+		SchemaValues read = SCHEMA.read(document);
+		blackhole.consume(read.get(NAME));
+		blackhole.consume(read.get(AGE));
+		blackhole.consume(read.get(CITY));
+		blackhole.consume(read.get(ID));
+		blackhole.consume(read.get(COUNTRY));
+	}
+
+	@Benchmark
+	public Document writeWithEntries() {
+		document.stringEntry("name").put(values.get(NAME));
+		document.intEntry("age").put(values.get(AGE));
+		document.stringEntry("city").put(values.get(CITY));
+		document.longEntry("id").put(values.get(ID));
+		return document;
+	}
+
+	@Benchmark
+	public Document writeWithEditor() {
+		document.edit()
+				.put("name", values.get(NAME))
+				.put("age", values.get(AGE))
+				.put("city", values.get(CITY))
+				.put("id", values.get(ID))
+				.commit();
+		return document;
+	}
+
+	@Benchmark
+	public Document writeWithSchema() {
+		SCHEMA.write(document, values);
+		return document;
+	}
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.preset.Documents;
+
+/**
+ * Measures single item entry access: typed reads (with and without
+ * conversion), reads of missing entries and puts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemEntryBenchmark {
+
+	private Document document;
+
+	@Setup
+	public void setUp() {
+		IData iData = IDataFactory.create();
+		document = Documents.wrap(iData);
+
+		// A few leading entries so that lookups don't always hit the first one
+		for (int i = 0; i < 10; i++) {
+			document.entry("filler" + i).put(i);
+		}
+		document.stringEntry("text").put("Hello");
+		document.intEntry("number").put(123);
+		document.stringEntry("numberAsText").put("456");
+		document.entry("date").put("2019-05-01T10:15:30.000+10:00");
+		document.legacyDateEntry("dateValue").put(new Date(1556669730000L));
+	}
+
+	@Benchmark
+	public String getString() {
+		return document.stringEntry("text").getVal();
+	}
+
+	@Benchmark
+	public Integer getIntSameType() {
+		return document.intEntry("number").getVal();
+	}
+
+	@Benchmark
+	public Integer getIntFromString() {
+		return document.intEntry("numberAsText").getVal();
+	}
+
+	@Benchmark
+	public Object getObject() {
+		return document.entry("text").getVal();
+	}
+
+	@Benchmark
+	public Object getLegacyDateFromString() {
+		return document.legacyDateEntry("date").getVal();
+	}
+
+	@Benchmark
+	public String getStringFromDate() {
+		return document.stringEntry("dateValue").getVal();
+	}
+
+	@Benchmark
+	public String getValOrDefaultMissing() {
+		return document.stringEntry("missing").getValOrDefault("default");
+	}
+
+	@Benchmark
+	public boolean isAssigned() {
+		return document.entry("text").isAssigned();
+	}
+
+	@Benchmark
+	public Document putString() {
+		document.stringEntry("text").put("World");
+		return document;
+	}
+
+	@Benchmark
+	public Document putConvertedInt() {
+		document.intEntry("number").putConverted("789");
+		return document;
+	}
+}
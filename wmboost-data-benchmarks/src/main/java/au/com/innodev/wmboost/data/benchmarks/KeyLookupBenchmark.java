@@ -0,0 +1,94 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.DocumentFactory;
+import au.com.innodev.wmboost.data.DocumentFactoryBuilder;
+import au.com.innodev.wmboost.data.convert.ConversionServiceUtils;
+import au.com.innodev.wmboost.data.preset.DirectIDataFactories;
+
+/**
+ * Measures key lookups on large documents, with and without the key index.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyLookupBenchmark {
+
+	@Param({ "100", "5000" })
+	private int entries;
+
+	@Param({ "false", "true" })
+	private boolean keyIndexEnabled;
+
+	private Document document;
+	private String lastKey;
+	private int counter;
+
+	@Setup
+	public void setUp() {
+		DocumentFactoryBuilder builder = new DocumentFactoryBuilder();
+		builder.setConversionService(ConversionServiceUtils.createDefaultConversionService());
+		builder.setDirectIDataFactory(DirectIDataFactories.getWmDefaultRuntimeFactory());
+		builder.setKeyIndexEnabled(keyIndexEnabled);
+		DocumentFactory factory = builder.build();
+
+		IData iData = IDataFactory.create();
+		document = factory.wrap(iData);
+		for (int i = 0; i < entries; i++) {
+			document.entry("key" + i).put(String.valueOf(i));
+		}
+		lastKey = "key" + (entries - 1);
+	}
+
+	@Benchmark
+	public String getLastKey() {
+		return document.stringEntry(lastKey).getVal();
+	}
+
+	@Benchmark
+	public boolean containsMissingKey() {
+		return document.containsKey("missing");
+	}
+
+	@Benchmark
+	public String putThenGet() {
+		// Puts are tracked by the index, so it's not rebuilt
+		document.stringEntry(lastKey).put(String.valueOf(counter++));
+		return document.stringEntry(lastKey).getVal();
+	}
+}
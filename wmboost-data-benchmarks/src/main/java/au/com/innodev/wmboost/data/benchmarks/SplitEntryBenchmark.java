@@ -0,0 +1,99 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wm.data.IData;
+import com.wm.data.IDataCursor;
+import com.wm.data.IDataFactory;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.preset.Documents;
+
+/**
+ * Measures split entries, i.e., keys repeated across the document, for
+ * different numbers of occurrences.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitEntryBenchmark {
+
+	@Param({ "10", "1000" })
+	private int occurrences;
+
+	private Document document;
+	private Document putDocument;
+	private List<String> values;
+
+	@Setup
+	public void setUp() {
+		values = new ArrayList<String>(occurrences);
+		for (int i = 0; i < occurrences; i++) {
+			values.add(String.valueOf(i));
+		}
+
+		// Interleave other entries so that the occurrences are not contiguous
+		IData iData = IDataFactory.create();
+		IDataCursor cursor = iData.getCursor();
+		for (int i = 0; i < occurrences; i++) {
+			cursor.insertAfter("repeated", values.get(i));
+			cursor.insertAfter("other" + i, "x");
+		}
+		cursor.destroy();
+		document = Documents.wrap(iData);
+
+		// Kept apart, as puts leave the occurrences together
+		putDocument = Documents.wrap(IDataFactory.create());
+		putDocument.stringEntry("first").put("1");
+		putDocument.stringsSplitEntry("repeated").put(values);
+		putDocument.stringEntry("last").put("2");
+	}
+
+	@Benchmark
+	public List<String> getStrings() {
+		return document.stringsSplitEntry("repeated").getValOrEmpty();
+	}
+
+	@Benchmark
+	public List<Integer> getIntsFromStrings() {
+		return document.intsSplitEntry("repeated").getValOrEmpty();
+	}
+
+	@Benchmark
+	public Document putStrings() {
+		putDocument.stringsSplitEntry("repeated").put(values);
+		return putDocument;
+	}
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Date;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterRegistry;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.util.StringUtils;
+
+import au.com.innodev.wmboost.data.convert.ConversionServiceUtils;
+
+/**
+ * Provides converters for {@code java.time} types.
+ * <p>
+ * Strings are parsed and formatted with the ISO-8601 formatters in
+ * {@link DateTimeFormatter}. Blank strings are converted to {@code null}, the
+ * same way as for {@link Date} in the default conversion service.
+ */
+public final class JavaTimeConverters {
+
+	/**
+	 * Creates a conversion service with the default converters (see
+	 * {@link ConversionServiceUtils#createDefaultConversionService()}) and the
+	 * {@code java.time} converters.
+	 * 
+	 * @return a new conversion service
+	 */
+	public static ConfigurableConversionService createDefaultConversionService() {
+		ConfigurableConversionService conversionService = ConversionServiceUtils.createDefaultConversionService();
+		addConverters(conversionService);
+		return conversionService;
+	}
+
+	/**
+	 * Adds the {@code java.time} converters to a registry, such as a
+	 * {@link ConversionService} created with
+	 * {@link ConversionServiceUtils#createDefaultConversionService()}.
+	 * 
+	 * @param registry
+	 *            registry to add converters to
+	 */
+	public static void addConverters(ConverterRegistry registry) {
+		addStringConverters(registry, Instant.class, DateTimeFormatter.ISO_INSTANT, DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+				Instant::from);
+		addStringConverters(registry, OffsetDateTime.class, DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+				DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from);
+		addStringConverters(registry, LocalDate.class, DateTimeFormatter.ISO_LOCAL_DATE,
+				DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from);
+		addStringConverters(registry, LocalDateTime.class, DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+				DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from);
+		addStringConverters(registry, LocalTime.class, DateTimeFormatter.ISO_LOCAL_TIME,
+				DateTimeFormatter.ISO_LOCAL_TIME, LocalTime::from);
+
+		registry.addConverter(Date.class, Instant.class, new Converter<Date, Instant>() {
+			@Override
+			public Instant convert(Date date) {
+				return date.toInstant();
+			}
+		});
+		registry.addConverter(Instant.class, Date.class, new Converter<Instant, Date>() {
+			@Override
+			public Date convert(Instant instant) {
+				return Date.from(instant);
+			}
+		});
+	}
+
+	private static <T extends TemporalAccessor> void addStringConverters(ConverterRegistry registry, Class<T> type,
+			final DateTimeFormatter formatter, final DateTimeFormatter parser, final TemporalQuery<T> query) {
+		registry.addConverter(type, String.class, new Converter<T, String>() {
+			@Override
+			public String convert(T value) {
+				return formatter.format(value);
+			}
+		});
+		registry.addConverter(String.class, type, new Converter<String, T>() {
+			@Override
+			public T convert(String value) {
+				return StringUtils.hasText(value) ? parser.parse(value.trim(), query) : null;
+			}
+		});
+	}
+
+	private JavaTimeConverters() {
+		// Non-instantiable
+	}
+}
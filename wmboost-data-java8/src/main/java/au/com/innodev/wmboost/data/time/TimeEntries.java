@@ -0,0 +1,141 @@
+/**
+ * Copyright 2017 Innodev
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package au.com.innodev.wmboost.data.time;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+import au.com.innodev.wmboost.data.CollectionEntry;
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.ItemEntry;
+
+/**
+ * <p>
+ * Returns references to entries with {@code java.time} values. These are
+ * shortcuts for {@link Document#entry(String, Class)} and
+ * {@link Document#collectionEntry(String, Class)}.
+ * <p>
+ * Values are converted with the document's conversion service, so the document
+ * should be created by a factory that supports {@code java.time} types, such
+ * as {@link JavaTimeDocumentFactories#getDefault()}.
+ */
+public final class TimeEntries {
+
+	/**
+	 * Returns a reference to an entry with a value treated as an
+	 * {@link Instant}.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static ItemEntry<Instant> instantEntry(Document document, String key) {
+		return document.entry(key, Instant.class);
+	}
+
+	/**
+	 * Returns a reference to an entry with a value treated as an
+	 * {@link OffsetDateTime}.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static ItemEntry<OffsetDateTime> offsetDateTimeEntry(Document document, String key) {
+		return document.entry(key, OffsetDateTime.class);
+	}
+
+	/**
+	 * Returns a reference to an entry with a value treated as a
+	 * {@link LocalDate}.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static ItemEntry<LocalDate> localDateEntry(Document document, String key) {
+		return document.entry(key, LocalDate.class);
+	}
+
+	/**
+	 * Returns a reference to an entry with a value treated as a
+	 * {@link LocalDateTime}.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static ItemEntry<LocalDateTime> localDateTimeEntry(Document document, String key) {
+		return document.entry(key, LocalDateTime.class);
+	}
+
+	/**
+	 * Returns a reference to an entry with a value treated as a
+	 * {@link LocalTime}.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static ItemEntry<LocalTime> localTimeEntry(Document document, String key) {
+		return document.entry(key, LocalTime.class);
+	}
+
+	/**
+	 * Returns a reference to an entry with a value treated as a collection of
+	 * {@link Instant} instances.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static CollectionEntry<Instant> instantsEntry(Document document, String key) {
+		return document.collectionEntry(key, Instant.class);
+	}
+
+	/**
+	 * Returns a reference to an entry with a value treated as a collection of
+	 * {@link LocalDate} instances.
+	 * 
+	 * @param document
+	 *            document that contains the entry
+	 * @param key
+	 *            key that identifies the document entry
+	 * @return an entry reference
+	 */
+	public static CollectionEntry<LocalDate> localDatesEntry(Document document, String key) {
+		return document.collectionEntry(key, LocalDate.class);
+	}
+
+	private TimeEntries() {
+		// Non-instantiable
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * {@code java.time} support for documents. Requires Java 8 or higher.
+ */
+package au.com.innodev.wmboost.data.time;
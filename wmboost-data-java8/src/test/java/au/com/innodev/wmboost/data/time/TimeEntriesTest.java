@@ -0,0 +1,95 @@
+package au.com.innodev.wmboost.data.time;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.wm.data.IData;
+import com.wm.data.IDataFactory;
+import com.wm.data.IDataUtil;
+
+import au.com.innodev.wmboost.data.Document;
+import au.com.innodev.wmboost.data.DocumentFactory;
+
+public class TimeEntriesTest {
+	private final DocumentFactory docFactory = JavaTimeDocumentFactories.getDefault();
+
+	@Test
+	public void testInstantFromString() {
+		Document document = docFactory.create();
+		document.stringEntry("z").put("2017-02-13T12:34:56.789Z");
+		document.stringEntry("offset").put("2017-02-13T22:34:56.789+10:00");
+
+		Instant expected = Instant.parse("2017-02-13T12:34:56.789Z");
+		assertEquals(expected, TimeEntries.instantEntry(document, "z").getVal());
+		assertEquals(expected, TimeEntries.instantEntry(document, "offset").getVal());
+	}
+
+	@Test
+	public void testInstantFromDate() {
+		Document document = docFactory.create();
+		Date date = new Date(1486989296789L);
+		document.legacyDateEntry("date").put(date);
+
+		assertEquals(date.toInstant(), TimeEntries.instantEntry(document, "date").getVal());
+	}
+
+	@Test
+	public void testInstantToStringAndDate() {
+		IData idata = IDataFactory.create();
+		Document document = docFactory.wrap(idata);
+		Instant instant = Instant.parse("2017-02-13T12:34:56.789Z");
+		document.stringEntry("text").putConverted(instant);
+		document.legacyDateEntry("date").putConverted(instant);
+
+		assertEquals("2017-02-13T12:34:56.789Z", IDataUtil.getString(idata.getCursor(), "text"));
+		assertEquals(Date.from(instant), IDataUtil.get(idata.getCursor(), "date"));
+	}
+
+	@Test
+	public void testLocalTypes() {
+		Document document = docFactory.create();
+		document.stringEntry("date").put("2017-02-13");
+		document.stringEntry("dateTime").put("2017-02-13T12:34:56");
+		document.stringEntry("time").put("12:34");
+		document.stringEntry("offsetDateTime").put("2017-02-13T12:34:56+10:00");
+
+		assertEquals(LocalDate.of(2017, 2, 13), TimeEntries.localDateEntry(document, "date").getVal());
+		assertEquals(LocalDateTime.of(2017, 2, 13, 12, 34, 56), TimeEntries.localDateTimeEntry(document, "dateTime").getVal());
+		assertEquals(LocalTime.of(12, 34), TimeEntries.localTimeEntry(document, "time").getVal());
+		assertEquals(OffsetDateTime.of(2017, 2, 13, 12, 34, 56, 0, ZoneOffset.ofHours(10)),
+				TimeEntries.offsetDateTimeEntry(document, "offsetDateTime").getVal());
+	}
+
+	@Test
+	public void testBlankStringIsNull() {
+		Document document = docFactory.create();
+		document.stringEntry("date").put(" ");
+
+		assertNull(TimeEntries.localDateEntry(document, "date").getVal());
+	}
+
+	@Test
+	public void testCollections() {
+		IData idata = IDataFactory.create();
+		Document document = docFactory.wrap(idata);
+		document.stringsEntry("dates").put(Arrays.asList("2017-02-13", "2017-02-14"));
+
+		assertEquals(Arrays.asList(LocalDate.of(2017, 2, 13), LocalDate.of(2017, 2, 14)),
+				TimeEntries.localDatesEntry(document, "dates").getVal());
+
+		TimeEntries.instantsEntry(document, "instants").put(Arrays.asList(Instant.EPOCH));
+		assertArrayEquals(new Instant[] { Instant.EPOCH }, (Instant[]) IDataUtil.get(idata.getCursor(), "instants"));
+	}
+}